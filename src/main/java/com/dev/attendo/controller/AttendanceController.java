@@ -3,11 +3,14 @@ package com.dev.attendo.controller;
 import com.dev.attendo.dtos.attendance.AttendancePagination;
 import com.dev.attendo.security.response.MessageResponse;
 import com.dev.attendo.service.AttendanceService;
+import com.dev.attendo.utils.storage.PhotoResponseUtils;
+import com.dev.attendo.utils.storage.PhotoUploadService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
@@ -20,6 +23,9 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private PhotoUploadService photoUploadService;
+
     @GetMapping("/in-area-status")
     public ResponseEntity<?> getInAreaStatus(
             @RequestParam(name = "store") Long storeId,
@@ -63,10 +69,8 @@ public class AttendanceController {
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/photo/{attendanceId}")
-    public ResponseEntity<?> getAttendancePhoto(@PathVariable Long attendanceId, @RequestParam String type) {
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_TYPE, "image/jpeg")
-                .body(attendanceService.getAttendancePhoto(attendanceId, type));
+    public ResponseEntity<Resource> getAttendancePhoto(@PathVariable Long attendanceId, @RequestParam String type, @RequestParam(required = false) Integer size, WebRequest webRequest) {
+        return PhotoResponseUtils.toResponse(attendanceService.getAttendancePhoto(attendanceId, type, size), webRequest);
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -87,7 +91,9 @@ public class AttendanceController {
             @RequestParam double lat,
             @RequestParam double lng
     ) {
-        attendanceService.dailyClockIn(username, currentDateTime, photo, lat, lng);
+        attendanceService.validateDailyClockIn(username, currentDateTime, lat, lng);
+        String photoKey = photoUploadService.store(photo);
+        attendanceService.dailyClockIn(username, currentDateTime, photoKey, lat, lng);
         return ResponseEntity.ok(new MessageResponse(true, "Clock-In Harian berhasil dilakukan!"));
     }
 
@@ -99,7 +105,9 @@ public class AttendanceController {
             @RequestParam double lat,
             @RequestParam double lng
     ) {
-        attendanceService.dailyClockOut(attendanceId, currentDateTime, photo, lat, lng);
+        attendanceService.validateDailyClockOut(attendanceId, lat, lng);
+        String photoKey = photoUploadService.store(photo);
+        attendanceService.dailyClockOut(attendanceId, currentDateTime, photoKey, lat, lng);
         return ResponseEntity.ok(new MessageResponse(true, "Clock-Out Harian berhasil dilakukan!"));
     }
 
@@ -129,7 +137,9 @@ public class AttendanceController {
             @RequestParam double lat,
             @RequestParam double lng
     ) {
-        attendanceService.overtimeClockIn(attendanceId, currentDateTime, photo, lat, lng);
+        attendanceService.validateOvertimeClockIn(attendanceId, lat, lng);
+        String photoKey = photoUploadService.store(photo);
+        attendanceService.overtimeClockIn(attendanceId, currentDateTime, photoKey, lat, lng);
         return ResponseEntity.ok(new MessageResponse(true, "Clock-In Lembur berhasil dilakukan!"));
     }
 
@@ -141,7 +151,9 @@ public class AttendanceController {
             @RequestParam double lat,
             @RequestParam double lng
     ) {
-        attendanceService.overtimeClockOut(attendanceId, currentDateTime, photo, lat, lng);
+        attendanceService.validateOvertimeClockOut(attendanceId, lat, lng);
+        String photoKey = photoUploadService.store(photo);
+        attendanceService.overtimeClockOut(attendanceId, currentDateTime, photoKey, lat, lng);
         return ResponseEntity.ok(new MessageResponse(true, "Clock-Out Lembur berhasil dilakukan!"));
     }
 
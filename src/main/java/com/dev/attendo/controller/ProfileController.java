@@ -4,12 +4,14 @@ import com.dev.attendo.dtos.profile.ProfileDTO;
 import com.dev.attendo.dtos.profile.ProfilePagination;
 import com.dev.attendo.security.response.MessageResponse;
 import com.dev.attendo.service.ProfileService;
+import com.dev.attendo.utils.storage.PhotoResponseUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -71,11 +73,8 @@ public class ProfileController {
     }
 
     @GetMapping("/{profileId}/profile-picture")
-    public ResponseEntity<byte[]> getProfilePicture(@PathVariable Long profileId) {
-        byte[] profilePicture = profileService.getProfilePicture(profileId);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_TYPE, "image/jpeg")
-                .body(profilePicture);
+    public ResponseEntity<Resource> getProfilePicture(@PathVariable Long profileId, @RequestParam(required = false) Integer size, WebRequest webRequest) {
+        return PhotoResponseUtils.toResponse(profileService.getProfilePicture(profileId, size), webRequest);
     }
 
     @PreAuthorize("hasAnyRole('OWNER', 'ADMIN')")
@@ -1,6 +1,8 @@
 package com.dev.attendo.controller;
 
+import com.dev.attendo.dtos.salary.PayrollRunPagination;
 import com.dev.attendo.security.response.MessageResponse;
+import com.dev.attendo.service.PayrollRunService;
 import com.dev.attendo.service.SalaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +17,9 @@ public class SalaryController {
     @Autowired
     SalaryService salaryService;
 
+    @Autowired
+    PayrollRunService payrollRunService;
+
     @GetMapping("/latest/{userId}")
     public ResponseEntity<?> getLatestActiveSalaryByUser(@PathVariable Long userId) {
        return ResponseEntity.ok(salaryService.getLatestActiveSalary(userId));
@@ -51,4 +56,27 @@ public class SalaryController {
         salaryService.addNewSalary(userId, currentLoggedIn, salaryAmount, targetMonth, targetYear);
         return ResponseEntity.ok(new MessageResponse(true, "Data gaji berhasil ditambahkan!"));
     }
+
+    @GetMapping("/payroll-run/{storeId}")
+    public ResponseEntity<?> getPayrollRun(
+            @PathVariable Long storeId,
+            @RequestParam int month,
+            @RequestParam int year,
+            @RequestParam(defaultValue = "0", required = false) Integer pageNumber,
+            @RequestParam(defaultValue = "10", required = false) Integer pageSize
+    ) {
+        PayrollRunPagination payrollRunPagination = payrollRunService.getPayrollRun(storeId, month, year, pageNumber, pageSize);
+        return ResponseEntity.ok(payrollRunPagination);
+    }
+
+    @PostMapping("/payroll-run/{storeId}/close")
+    public ResponseEntity<?> closePayrollRun(
+            @PathVariable Long storeId,
+            @RequestParam String currentLoggedIn,
+            @RequestParam int month,
+            @RequestParam int year
+    ) {
+        payrollRunService.closePayrollRun(storeId, currentLoggedIn, month, year);
+        return ResponseEntity.ok(new MessageResponse(true, "Penggajian bulanan berhasil ditutup!"));
+    }
 }
@@ -41,6 +41,12 @@ public class StoreController {
         return ResponseEntity.ok(new MessageResponse(true, "Status aktivasi toko berhasil diubah!"));
     }
 
+    @PutMapping("/break-count-reconcile/{storeId}")
+    public ResponseEntity<?> reconcileBreakCount(@PathVariable Long storeId) {
+        storeService.reconcileBreakCount(storeId);
+        return ResponseEntity.ok(new MessageResponse(true, "Jumlah karyawan istirahat berhasil dihitung ulang!"));
+    }
+
     @GetMapping("/owned/{username}")
     public ResponseEntity<?> getAllOwnedStore(@PathVariable String username) {
         return ResponseEntity.ok(storeService.getAllOwnedStore(username));
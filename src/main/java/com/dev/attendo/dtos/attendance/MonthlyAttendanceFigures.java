@@ -0,0 +1,9 @@
+package com.dev.attendo.dtos.attendance;
+
+// Totals of one user's attendances at one store in one month, the source of a MonthlyAttendanceSummary row.
+public record MonthlyAttendanceFigures(Long presentCount, Long lateCount, Long lateMinutes, Long totalDeduction, Long overtimeCount, Long overtimePay) {
+
+    public boolean isEmpty() {
+        return presentCount == 0 && lateCount == 0 && lateMinutes == 0 && totalDeduction == 0 && overtimeCount == 0 && overtimePay == 0;
+    }
+}
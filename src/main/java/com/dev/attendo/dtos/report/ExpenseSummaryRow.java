@@ -0,0 +1,12 @@
+package com.dev.attendo.dtos.report;
+
+import java.time.LocalDate;
+
+// One employee-month of MonthlyAttendanceSummaryRepository.getMonthlyAttendanceCountSummary, priced with the salary valid that month.
+public record ExpenseSummaryRow(LocalDate periodStart, Integer presentCount, Integer totalDeduction, Integer overtimePay, Integer overtimeCount, Integer salaryAmount) {
+
+    public long monthlyExpenses() {
+        int salary = salaryAmount != null ? salaryAmount : 0;
+        return (long) presentCount * salary + (long) overtimeCount * overtimePay - totalDeduction;
+    }
+}
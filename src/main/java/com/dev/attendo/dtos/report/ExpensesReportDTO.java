@@ -0,0 +1,12 @@
+package com.dev.attendo.dtos.report;
+
+import java.util.List;
+
+public record ExpensesReportDTO(
+        List<MonthlyAmountDTO> monthlyTotals,
+        long totalExpenses,
+        long averageExpenses,
+        MonthlyAmountDTO highestMonth,
+        MonthlyAmountDTO lowestMonth
+) {
+}
@@ -0,0 +1,14 @@
+package com.dev.attendo.dtos.report;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record FrequentlyLateReportDTO(
+        int totalEmployeesLate,
+        long totalLateCount,
+        long totalLateMinutes,
+        BigDecimal totalLateHours,
+        List<LateEmployeeDTO> top5LateEmployees,
+        List<MonthlyCountDTO> monthlyLateDistribution
+) {
+}
@@ -0,0 +1,4 @@
+package com.dev.attendo.dtos.report;
+
+public record LateEmployeeDTO(Long userId, String username, long lateCount, long lateInMinutes) {
+}
@@ -0,0 +1,7 @@
+package com.dev.attendo.dtos.report;
+
+import java.time.LocalDate;
+
+// One employee-month with at least one late attendance, from MonthlyAttendanceSummaryRepository.getLateEmployeesCountSummary.
+public record LateSummaryRow(Long userId, LocalDate periodStart, String username, Integer lateCount, Integer lateMinutes) {
+}
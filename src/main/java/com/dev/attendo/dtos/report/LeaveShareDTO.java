@@ -0,0 +1,4 @@
+package com.dev.attendo.dtos.report;
+
+public record LeaveShareDTO(String type, int leaveDays, int totalRequests, double percentage) {
+}
@@ -0,0 +1,8 @@
+package com.dev.attendo.dtos.report;
+
+import com.dev.attendo.utils.enums.LeaveTypeEnum;
+
+// Approved leave of one type grouped by the month it was approved in and the month it starts,
+// from LeaveApplicationRepository.getLeaveOvertimeSummary.
+public record LeaveSummaryRow(Integer approvedYear, Integer approvedMonth, Integer year, Integer month, LeaveTypeEnum leaveType, Long totalRequests, Long totalLeaveDays) {
+}
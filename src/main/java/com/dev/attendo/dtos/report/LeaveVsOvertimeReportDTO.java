@@ -0,0 +1,13 @@
+package com.dev.attendo.dtos.report;
+
+import java.util.List;
+
+public record LeaveVsOvertimeReportDTO(
+        int totalLeaveDaysInPeriod,
+        int totalLeaveRequestInPeriod,
+        List<MonthlyLeaveDaysDTO> leaveDistributionByMonth,
+        List<LeaveShareDTO> pieDistribution,
+        int totalOvertimeDaysInPeriod,
+        List<MonthlyCountDTO> overtimeDaysDistributionByMonth
+) {
+}
@@ -0,0 +1,4 @@
+package com.dev.attendo.dtos.report;
+
+public record MonthlyAmountDTO(String month, long amount) {
+}
@@ -0,0 +1,4 @@
+package com.dev.attendo.dtos.report;
+
+public record MonthlyCountDTO(String month, long count) {
+}
@@ -0,0 +1,12 @@
+package com.dev.attendo.dtos.report;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Leave days of one month per LeaveTypeEnum, serialized with the enum names as keys for the bar chart
+public record MonthlyLeaveDaysDTO(
+        String month,
+        @JsonProperty("SICK") int sick,
+        @JsonProperty("PERSONAL") int personal,
+        @JsonProperty("OTHER") int other
+) {
+}
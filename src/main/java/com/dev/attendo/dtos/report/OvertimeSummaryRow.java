@@ -0,0 +1,5 @@
+package com.dev.attendo.dtos.report;
+
+// Approved overtime days of one month, from OvertimeApplicationRepository.getOvertimeCountSummary.
+public record OvertimeSummaryRow(Integer year, Integer month, Long totalOvertimeDays) {
+}
@@ -0,0 +1,9 @@
+package com.dev.attendo.dtos.salary;
+
+// One row of SalaryRepository.getStorePayrollFigures, the PayrollFigures of a single employee of the store.
+public record EmployeePayrollFigures(Long userId, String username, Integer salaryAmount, Long validAttendancesCount, Long totalOvertimePay, Long totalLoan, Long totalDeduction) {
+
+    public PayrollFigures figures() {
+        return new PayrollFigures(salaryAmount, validAttendancesCount, totalOvertimePay, totalLoan, totalDeduction);
+    }
+}
@@ -0,0 +1,13 @@
+package com.dev.attendo.dtos.salary;
+
+// Every figure a monthly salary is computed from, loaded by SalaryRepository.getPayrollFigures in a single round trip.
+public record PayrollFigures(Integer salaryAmount, Long validAttendancesCount, Long totalOvertimePay, Long totalLoan, Long totalDeduction) {
+
+    public int baseSalary() {
+        return salaryAmount == null ? 0 : validAttendancesCount.intValue() * salaryAmount;
+    }
+
+    public int totalSalary() {
+        return baseSalary() - (totalLoan.intValue() + totalDeduction.intValue()) + totalOvertimePay.intValue();
+    }
+}
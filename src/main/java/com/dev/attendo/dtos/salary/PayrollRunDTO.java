@@ -0,0 +1,18 @@
+package com.dev.attendo.dtos.salary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PayrollRunDTO {
+    private Long userId;
+    private String username;
+    private int baseSalary;
+    private int totalLoan;
+    private int totalDeduction;
+    private int totalOvertimePay;
+    private int totalSalary;
+}
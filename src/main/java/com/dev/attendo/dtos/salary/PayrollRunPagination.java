@@ -0,0 +1,21 @@
+package com.dev.attendo.dtos.salary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PayrollRunPagination {
+    private List<PayrollRunDTO> content;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean lastPage;
+    // True when the content is read from the payroll_run snapshot of a closed month
+    private boolean closed;
+}
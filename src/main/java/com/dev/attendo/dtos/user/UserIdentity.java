@@ -0,0 +1,5 @@
+package com.dev.attendo.dtos.user;
+
+// Id and username of a user, for callers that only need to address the user and not load the entity.
+public record UserIdentity(Long id, String username) {
+}
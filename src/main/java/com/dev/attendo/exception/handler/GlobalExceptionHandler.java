@@ -3,6 +3,7 @@ package com.dev.attendo.exception.handler;
 import com.dev.attendo.exception.BadRequestException;
 import com.dev.attendo.exception.InternalServerErrorException;
 import com.dev.attendo.exception.ResourceNotFoundException;
+import com.dev.attendo.exception.ServiceUnavailableException;
 import com.dev.attendo.security.response.MessageResponse;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
@@ -33,6 +34,11 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new MessageResponse(false, exception.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> serviceUnavailableException(ServiceUnavailableException exception) {
+        return new ResponseEntity<>(new MessageResponse(false, exception.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException exception) {
         String errorMessage = exception.getBindingResult()
@@ -1,5 +1,6 @@
 package com.dev.attendo.model;
 
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -12,10 +13,11 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_activity_log_user_created", columnList = "id_user, createdDate"))
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
     private String actionMethod;
@@ -2,12 +2,15 @@ package com.dev.attendo.model;
 
 import com.dev.attendo.utils.enums.AttendanceStatusEnum;
 import com.dev.attendo.utils.enums.AttendanceTypeEnum;
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -15,25 +18,50 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @Entity
+// Composite indexes back the half-open clockIn range queries in AttendanceRepository
+@Table(indexes = {
+        @Index(name = "idx_attendance_user_clock_in", columnList = "id_user, clockIn"),
+        @Index(name = "idx_attendance_store_clock_in", columnList = "id_store, clockIn")
+})
 public class Attendance {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
+    // Clock-out, break-out and admin edits of the same attendance conflict instead of overwriting each other
+    @Version
+    private long version;
+
     @Enumerated(EnumType.STRING)
     private AttendanceTypeEnum type;
 
     @Enumerated(EnumType.STRING)
     private AttendanceStatusEnum status;
 
+    // Legacy in-row photo storage, drained into PhotoStore by PhotoMigration.
+    // Lazy through bytecode enhancement, each in its own group so loading one photo does not pull the other.
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("photoIn")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(columnDefinition = "LONGBLOB")
     private byte[] photoIn;
 
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("photoOut")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @Column(columnDefinition = "LONGBLOB")
     private byte[] photoOut;
 
+    @Column(length = 64)
+    private String photoInKey;
+
+    @Column(length = 64)
+    private String photoOutKey;
+
     private LocalDateTime clockIn;
 
     private LocalDateTime clockOut;
@@ -0,0 +1,23 @@
+package com.dev.attendo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per startup backfill that has run to the end on this database, so later startups skip it.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "data_backfill")
+public class DataBackfill {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime completedDate;
+}
@@ -0,0 +1,59 @@
+package com.dev.attendo.model;
+
+import com.dev.attendo.utils.enums.EmailOutboxStatusEnum;
+import com.dev.attendo.utils.helper.PooledTableId;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Emails are written here in the same transaction as the change that triggers them and delivered by EmailOutboxDispatcher.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, nextAttemptDate"))
+public class EmailOutbox {
+
+    @Id
+    @PooledTableId
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @ToString.Exclude
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String htmlContent;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxStatusEnum status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptDate;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime sentDate;
+
+    @CreationTimestamp
+    @Column(updatable = false, nullable = false)
+    private LocalDateTime createdDate;
+
+    public EmailOutbox(String recipient, String subject, String htmlContent) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.htmlContent = htmlContent;
+        this.status = EmailOutboxStatusEnum.PENDING;
+        this.nextAttemptDate = LocalDateTime.now();
+    }
+}
@@ -2,6 +2,7 @@ package com.dev.attendo.model;
 
 import com.dev.attendo.utils.enums.ApprovalStatusEnum;
 import com.dev.attendo.utils.enums.LeaveTypeEnum;
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -17,12 +18,16 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_leave_store_updated", columnList = "id_store, updatedDate"))
 public class LeaveApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
+    @Version
+    private long version;
+
     @Enumerated(EnumType.STRING)
     private ApprovalStatusEnum status;
 
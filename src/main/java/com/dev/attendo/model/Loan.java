@@ -1,5 +1,6 @@
 package com.dev.attendo.model;
 
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -16,12 +17,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_loan_user_store_created", columnList = "id_user, id_store, createdDate"))
 public class Loan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
+    @Version
+    private long version;
+
     @NotNull
     private int amount;
 
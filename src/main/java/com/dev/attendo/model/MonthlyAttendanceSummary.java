@@ -0,0 +1,61 @@
+package com.dev.attendo.model;
+
+import com.dev.attendo.utils.helper.PooledTableId;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Per store, user and month totals of Attendance, kept current by AttendanceSummaryUpdater so reports and payroll
+// read one row per employee-month instead of every attendance.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "monthly_attendance_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_attendance_summary_key", columnNames = {"id_store", "periodStart", "id_user"}),
+        indexes = @Index(name = "idx_monthly_attendance_summary_user_period", columnList = "id_user, periodStart")
+)
+public class MonthlyAttendanceSummary {
+
+    @Id
+    @PooledTableId
+    private Long id;
+
+    // First day of the summarized month
+    private LocalDate periodStart;
+
+    // Daily attendances with PRESENT or LATE status
+    private int presentCount;
+
+    private int lateCount;
+
+    private int lateMinutes;
+
+    private int totalDeduction;
+
+    // Overtime attendances with PRESENT or LATE status, and their overtime pay
+    private int overtimeCount;
+
+    private int overtimePay;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JsonBackReference
+    @JoinColumn(name = "id_user", referencedColumnName = "id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JsonBackReference
+    @JoinColumn(name = "id_store", referencedColumnName = "id")
+    private Store store;
+}
@@ -1,6 +1,7 @@
 package com.dev.attendo.model;
 
 import com.dev.attendo.utils.enums.ApprovalStatusEnum;
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -19,9 +20,12 @@ import java.time.LocalTime;
 public class OvertimeApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
+    @Version
+    private long version;
+
     @Enumerated(EnumType.STRING)
     private ApprovalStatusEnum status;
 
@@ -0,0 +1,55 @@
+package com.dev.attendo.model;
+
+import com.dev.attendo.utils.helper.PooledTableId;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Salary summary of one employee for a closed month, frozen so later changes to attendances or loans do not alter it.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "payroll_run", uniqueConstraints = @UniqueConstraint(
+        name = "uk_payroll_run_store_period_user", columnNames = {"id_store", "periodYear", "periodMonth", "id_user"}
+))
+public class PayrollRun {
+
+    @Id
+    @PooledTableId
+    private Long id;
+
+    private int periodYear;
+
+    private int periodMonth;
+
+    private int baseSalary;
+
+    private int totalLoan;
+
+    private int totalDeduction;
+
+    private int totalOvertimePay;
+
+    private int totalSalary;
+
+    @CreationTimestamp
+    @Column(updatable = false, nullable = false)
+    private LocalDateTime createdDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JsonBackReference
+    @JoinColumn(name = "id_user", referencedColumnName = "id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @JsonBackReference
+    @JoinColumn(name = "id_store", referencedColumnName = "id")
+    private Store store;
+}
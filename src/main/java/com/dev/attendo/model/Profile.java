@@ -1,14 +1,17 @@
 package com.dev.attendo.model;
 
 import com.dev.attendo.utils.enums.GenderEnum;
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -19,14 +22,23 @@ import java.time.LocalDateTime;
 @Entity
 public class Profile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
+    // Legacy in-row picture storage, drained into PhotoStore by PhotoMigration. Lazy through bytecode enhancement.
     @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("profilePicture")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JsonIgnore
     @Column(name = "profile_picture", columnDefinition = "LONGBLOB")
     private byte[] profilePicture;
 
+    @JsonIgnore
+    @Column(length = 64)
+    private String profilePictureKey;
+
     @NotBlank
     private String name;
 
@@ -1,5 +1,6 @@
 package com.dev.attendo.model;
 
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -17,10 +18,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_salary_user_validity", columnList = "id_user, effectiveDate, validTo"))
 public class Salary {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
     @NotNull
@@ -29,6 +31,10 @@ public class Salary {
     @NotNull
     private LocalDate effectiveDate;
 
+    // Exclusive end of this version, the effectiveDate of the next one (null while it is the latest).
+    // Maintained by SalaryValidityUpdater so [effectiveDate, validTo) ranges of a user never overlap.
+    private LocalDate validTo;
+
     @CreationTimestamp
     @Column(updatable = false, nullable = false)
     private LocalDateTime createdDate;
@@ -1,5 +1,6 @@
 package com.dev.attendo.model;
 
+import com.dev.attendo.utils.helper.PooledTableId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -20,9 +21,13 @@ import java.util.Set;
 @Entity
 public class Store {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledTableId
     private Long id;
 
+    // Not bumped by the break slot UPDATEs in StoreRepository, so break-ins never conflict with store edits
+    @Version
+    private long version;
+
     @Size(min = 3, message = "Nama toko harus memiliki minimal 3 karakter")
     private String name;
 
@@ -41,6 +46,8 @@ public class Store {
 
     private int maxBreakCount;
 
+    // Only changed by the conditional UPDATEs of BreakSlotAdmission, saving a loaded Store must not write back a stale count
+    @Column(updatable = false)
     private int currentBreakCount;
 
     private int lateClockInPenaltyAmount;
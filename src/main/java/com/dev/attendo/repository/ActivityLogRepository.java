@@ -7,7 +7,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Repository
@@ -18,8 +17,8 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>
             "AND s.id = :storeId " +
             "AND LOWER(u.username) LIKE LOWER(:keyword) " +
             "AND (:actionMethod IS NULL OR a.actionMethod = :actionMethod) " +
-            "AND (:startDate IS NULL OR DATE(a.createdDate) >= :startDate) " +
-            "AND (:endDate IS NULL OR DATE(a.createdDate) <= :endDate)"
+            "AND (:startDate IS NULL OR a.createdDate >= :startDate) " +
+            "AND (:endDate IS NULL OR a.createdDate < :endDate)"
     )
-    Page<ActivityLog> getAllActivityLog(Long storeId, String keyword, String actionMethod, LocalDate startDate, LocalDate endDate, Pageable pageDetails);
+    Page<ActivityLog> getAllActivityLog(Long storeId, String keyword, String actionMethod, LocalDateTime startDate, LocalDateTime endDate, Pageable pageDetails);
 }
@@ -1,5 +1,6 @@
 package com.dev.attendo.repository;
 
+import com.dev.attendo.dtos.attendance.MonthlyAttendanceFigures;
 import com.dev.attendo.model.Attendance;
 import com.dev.attendo.utils.enums.AttendanceTypeEnum;
 import org.springframework.data.domain.Page;
@@ -10,97 +11,97 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
+    // Date ranges in this repository are half-open: startDate inclusive, endDate exclusive.
     @Query("SELECT a FROM Attendance a JOIN a.user u " +
-            "WHERE YEAR(a.clockIn) = :year " +
-            "AND MONTH(a.clockIn) = :month " +
+            "WHERE a.clockIn >= :startDate " +
+            "AND a.clockIn < :endDate " +
             "AND u.id = :userId " +
             "ORDER BY a.clockIn ASC")
-    List<Attendance> findByYearAndMonth(Long userId, int month, int year);
+    List<Attendance> findByUserIdAndPeriod(Long userId, LocalDateTime startDate, LocalDateTime endDate);
 
     @Query("SELECT a FROM Attendance a JOIN a.user u " +
             "WHERE a.store.id = :storeId " +
             "AND (:type IS NULL OR a.type = :type) " +
             "AND LOWER(u.username) LIKE LOWER(:keyword) " +
-            "AND DATE(a.clockIn) = CURRENT_DATE")
-    Page<Attendance> getTodayAttendances(Long storeId, AttendanceTypeEnum type, String keyword, Pageable pageDetails);
-
-    @Query("SELECT SUM(a.deductionAmount) FROM Attendance a " +
-            "WHERE YEAR(a.clockIn) = :year " +
-            "AND MONTH(a.clockIn) = :month " +
-            "AND a.user.id = :userId")
-    Optional<Integer> getTotalDeductionByYearAndMonth(Long userId, int month, int year);
-
-    @Query("SELECT COUNT(a) FROM Attendance a " +
-            "WHERE YEAR(a.clockIn) = :year " +
-            "AND MONTH(a.clockIn) = :month " +
-            "AND a.user.id = :userId " +
-            "AND a.type = 'DAILY' " +
-            "AND a.status IN ('PRESENT', 'LATE')")
-    Optional<Integer> countOnTimeAndLateByYearAndMonth(Long userId, Integer month, int year);
+            "AND a.clockIn >= :startDate " +
+            "AND a.clockIn < :endDate")
+    Page<Attendance> getTodayAttendances(Long storeId, AttendanceTypeEnum type, String keyword, LocalDateTime startDate, LocalDateTime endDate, Pageable pageDetails);
 
     @Query("SELECT a from Attendance a " +
             "WHERE a.user.id = :userId " +
             "AND a.type IN ('DAILY', 'LEAVE') " +
-            "AND DATE(a.clockIn) = :currentDate"
+            "AND a.clockIn >= :startDate " +
+            "AND a.clockIn < :endDate"
     )
-    Optional<Attendance> findByUserId(Long userId, LocalDate currentDate);
-
-    @Query("SELECT SUM(o.overtimePay) FROM Attendance a JOIN a.overtimeApplication o " +
-            "WHERE YEAR(a.clockIn) = :year " +
-            "AND MONTH(a.clockIn) = :month " +
-            "AND a.type = 'OVERTIME' " +
-            "AND a.status IN ('PRESENT', 'LATE') " +
-            "AND a.user.id = :userId")
-    Optional<Integer> getTotalOvertimePayByYearAndMonth(Long userId, int month, int year);
+    Optional<Attendance> findByUserId(Long userId, LocalDateTime startDate, LocalDateTime endDate);
 
     @Query("SELECT a from Attendance a JOIN a.overtimeApplication o " +
             "WHERE a.user.id = :userId " +
             "AND a.type = 'OVERTIME' " +
-            "AND DATE(o.overtimeDate) = :currentDate " +
+            "AND o.overtimeDate = :currentDate " +
             "ORDER BY o.overtimeDate DESC LIMIT 1"
     )
     Optional<Attendance> findOvertimeAttendanceByUserId(Long userId, LocalDate currentDate);
 
 
     // EXPENSES REPORT QUERY
-    @Query("""
-            SELECT 
-                a.user.id AS userId,
-                YEAR(a.clockIn) AS year,
-                MONTH(a.clockIn) AS month,
-                COUNT(CASE WHEN a.type = 'DAILY' AND a.status IN ('PRESENT', 'LATE') THEN 1 END) AS totalAttendance,
-                SUM(a.deductionAmount) AS totalDeduction,
-                SUM(CASE WHEN o.id IS NOT NULL AND a.status IN ('PRESENT', 'LATE') THEN o.overtimePay ELSE 0 END) AS overtimePay,
-                COUNT(CASE WHEN o.id IS NOT NULL AND a.status IN ('PRESENT', 'LATE') THEN 1 END) AS totalOvertime,
-                (
-                        SELECT s.amount
-                        FROM Salary s
-                        WHERE s.user.id = a.user.id
-                          AND s.effectiveDate <= LAST_DAY(a.clockIn)
-                        ORDER BY s.createdDate DESC
-                        LIMIT 1
-                    ) AS lastSalary
-            FROM Attendance a
-            LEFT JOIN a.overtimeApplication o
-            WHERE a.store.id = :storeId
-            AND DATE(a.clockIn) BETWEEN :startDate AND :endDate
-            GROUP BY userId, year, month
-            """)
-    List<Object[]> getMonthlyAttendanceCountSummary(Long storeId, LocalDate startDate, LocalDate endDate);
+    // MONTHLY SUMMARY QUERY, aggregates behind MonthlyAttendanceSummary
+    @Query("SELECT new com.dev.attendo.dtos.attendance.MonthlyAttendanceFigures(" +
+            "COUNT(CASE WHEN a.type = 'DAILY' AND a.status IN ('PRESENT', 'LATE') THEN 1 END), " +
+            "COUNT(CASE WHEN a.status = 'LATE' THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN a.status = 'LATE' THEN a.lateInMinutes ELSE 0 END), 0L), " +
+            "COALESCE(SUM(a.deductionAmount), 0L), " +
+            "COUNT(CASE WHEN o.id IS NOT NULL AND a.status IN ('PRESENT', 'LATE') THEN 1 END), " +
+            "COALESCE(SUM(CASE WHEN o.id IS NOT NULL AND a.status IN ('PRESENT', 'LATE') THEN o.overtimePay ELSE 0 END), 0L)" +
+            ") FROM Attendance a LEFT JOIN a.overtimeApplication o " +
+            "WHERE a.user.id = :userId " +
+            "AND a.store.id = :storeId " +
+            "AND a.clockIn >= :startDate " +
+            "AND a.clockIn < :endDate")
+    MonthlyAttendanceFigures getMonthlyAttendanceFigures(Long userId, Long storeId, LocalDateTime startDate, LocalDateTime endDate);
 
+    // Users after afterUserId that have attendances, for rebuilding MonthlyAttendanceSummary one user at a time
+    @Query("SELECT DISTINCT a.user.id FROM Attendance a " +
+            "WHERE a.clockIn IS NOT NULL " +
+            "AND a.store IS NOT NULL " +
+            "AND a.user.id > :afterUserId " +
+            "ORDER BY a.user.id")
+    List<Long> findUserIdsWithAttendances(Long afterUserId, Pageable pageDetails);
 
-    // FREQUENTLY LATE EMPLOYEE QUERY
-    @Query("SELECT a.user.id AS userId, YEAR(a.clockIn) AS year, MONTH(a.clockIn) AS month, a.user.username AS username, COUNT(a.id) AS lateCount, SUM(a.lateInMinutes) AS lateMinutes FROM Attendance a " +
-            "WHERE a.status = 'LATE' " +
-            "AND a.store.id = :storeId " +
-            "AND DATE(a.clockIn) BETWEEN :startDate AND :endDate " +
-            "GROUP BY a.user.username, year, month " +
-            "ORDER BY lateCount DESC")
-    List<Object[]> getLateEmployeesCountSummary(Long storeId, LocalDate startDate, LocalDate endDate);
+    // Every (store, year, month) the user has attendances in
+    @Query("SELECT DISTINCT a.store.id, YEAR(a.clockIn), MONTH(a.clockIn) FROM Attendance a " +
+            "WHERE a.user.id = :userId " +
+            "AND a.clockIn IS NOT NULL " +
+            "AND a.store IS NOT NULL")
+    List<Object[]> findMonthlySummaryKeysByUser(Long userId);
+
+    // (user, year, month) of a store's attendances in the range that have no MonthlyAttendanceSummary row yet
+    @Query("SELECT DISTINCT a.user.id, YEAR(a.clockIn), MONTH(a.clockIn) FROM Attendance a " +
+            "WHERE a.store.id = :storeId " +
+            "AND a.clockIn >= :startDate " +
+            "AND a.clockIn < :endDate " +
+            "AND NOT EXISTS (SELECT 1 FROM MonthlyAttendanceSummary m WHERE m.store.id = :storeId AND m.user.id = a.user.id " +
+            "AND YEAR(m.periodStart) = YEAR(a.clockIn) AND MONTH(m.periodStart) = MONTH(a.clockIn))")
+    List<Object[]> findUnsummarizedKeysByStore(Long storeId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // PHOTO QUERY
+    @Query("SELECT a.photoInKey FROM Attendance a WHERE a.id = :attendanceId")
+    Optional<String> findPhotoInKey(Long attendanceId);
+
+    @Query("SELECT a.photoOutKey FROM Attendance a WHERE a.id = :attendanceId")
+    Optional<String> findPhotoOutKey(Long attendanceId);
+
+    // PHOTO MIGRATION QUERY
+    @Query("SELECT a.id FROM Attendance a " +
+            "WHERE (a.photoIn IS NOT NULL AND a.photoInKey IS NULL) " +
+            "OR (a.photoOut IS NOT NULL AND a.photoOutKey IS NULL) " +
+            "ORDER BY a.id ASC")
+    List<Long> findIdsWithLegacyPhotos(Pageable pageDetails);
 }
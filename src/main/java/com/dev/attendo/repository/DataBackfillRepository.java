@@ -0,0 +1,9 @@
+package com.dev.attendo.repository;
+
+import com.dev.attendo.model.DataBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataBackfillRepository extends JpaRepository<DataBackfill, String> {
+}
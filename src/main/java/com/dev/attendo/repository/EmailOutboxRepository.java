@@ -0,0 +1,29 @@
+package com.dev.attendo.repository;
+
+import com.dev.attendo.model.EmailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Locks the returned rows and skips rows another instance has locked (-2 is Hibernate's SKIP_LOCKED lock timeout),
+    // so concurrent dispatchers never claim the same email.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e " +
+            "WHERE e.status = com.dev.attendo.utils.enums.EmailOutboxStatusEnum.PENDING " +
+            "AND e.nextAttemptDate <= :currentDate " +
+            "ORDER BY e.id"
+    )
+    List<EmailOutbox> findDueEmails(LocalDateTime currentDate, Pageable pageDetails);
+}
@@ -1,5 +1,6 @@
 package com.dev.attendo.repository;
 
+import com.dev.attendo.dtos.report.LeaveSummaryRow;
 import com.dev.attendo.model.LeaveApplication;
 import com.dev.attendo.utils.enums.ApprovalStatusEnum;
 import com.dev.attendo.utils.enums.LeaveTypeEnum;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -34,19 +36,24 @@ public interface LeaveApplicationRepository extends JpaRepository<LeaveApplicati
             "AND (:selectedEndDate IS NULL OR l.startDate <= :selectedEndDate)")
     Page<LeaveApplication> findByUserIdAndStoreAndNameAndStatusAndType(Long userId, Long storeId, LocalDate selectedStartDate, LocalDate selectedEndDate, ApprovalStatusEnum status, LeaveTypeEnum type, Pageable pageDetails);
 
+    // Leave days use HQL date arithmetic ("by day") so the constructor argument has a known Long type on every dialect.
+    // Rows are also split by approval month, the month the report cache slices them by.
     @Query("""
-                SELECT 
-                    YEAR(l.startDate) AS year,
-                    MONTH(l.startDate) AS month,
-                    l.type AS leaveType,
-                    COUNT(l.id) AS totalLeaveRequests,
-                    COALESCE(SUM(DATEDIFF(l.endDate, l.startDate) + 1), 0) AS totalLeaveDays
+                SELECT new com.dev.attendo.dtos.report.LeaveSummaryRow(
+                    YEAR(l.updatedDate),
+                    MONTH(l.updatedDate),
+                    YEAR(l.startDate),
+                    MONTH(l.startDate),
+                    l.type,
+                    COUNT(l.id),
+                    COALESCE(SUM((l.endDate - l.startDate) by day + 1), 0L))
                 FROM LeaveApplication l
                 WHERE l.store.id = :storeId
                 AND l.status = 'APPROVED'
-                AND DATE(l.updatedDate) BETWEEN :startDate AND :endDate
-                GROUP BY year, month, leaveType
-                ORDER BY year, month
+                AND l.updatedDate >= :startDate
+                AND l.updatedDate < :endDate
+                GROUP BY YEAR(l.updatedDate), MONTH(l.updatedDate), YEAR(l.startDate), MONTH(l.startDate), l.type
+                ORDER BY YEAR(l.startDate), MONTH(l.startDate)
             """)
-    List<Object[]> getLeaveOvertimeSummary(Long storeId, LocalDate startDate, LocalDate endDate);
+    List<LeaveSummaryRow> getLeaveOvertimeSummary(Long storeId, LocalDateTime startDate, LocalDateTime endDate);
 }
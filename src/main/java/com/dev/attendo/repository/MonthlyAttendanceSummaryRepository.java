@@ -0,0 +1,71 @@
+package com.dev.attendo.repository;
+
+import com.dev.attendo.dtos.report.ExpenseSummaryRow;
+import com.dev.attendo.dtos.report.LateSummaryRow;
+import com.dev.attendo.model.MonthlyAttendanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthlyAttendanceSummaryRepository extends JpaRepository<MonthlyAttendanceSummary, Long> {
+
+    Optional<MonthlyAttendanceSummary> findByStoreIdAndUserIdAndPeriodStart(Long storeId, Long userId, LocalDate periodStart);
+
+    // Inserts the row of a (store, user, month) key. A refresh that inserted the same key concurrently wins the unique
+    // key first, this one then waits for it and overwrites its figures instead of failing the transaction.
+    @Modifying
+    @Query(value = "INSERT INTO monthly_attendance_summary (id, id_store, id_user, period_start, present_count, late_count, late_minutes, " +
+            "total_deduction, overtime_count, overtime_pay, updated_date) " +
+            "VALUES (:id, :storeId, :userId, :periodStart, :presentCount, :lateCount, :lateMinutes, " +
+            ":totalDeduction, :overtimeCount, :overtimePay, :updatedDate) " +
+            "ON DUPLICATE KEY UPDATE present_count = VALUES(present_count), late_count = VALUES(late_count), " +
+            "late_minutes = VALUES(late_minutes), total_deduction = VALUES(total_deduction), overtime_count = VALUES(overtime_count), " +
+            "overtime_pay = VALUES(overtime_pay), updated_date = VALUES(updated_date)",
+            nativeQuery = true)
+    void upsert(Long id, Long storeId, Long userId, LocalDate periodStart, int presentCount, int lateCount, int lateMinutes,
+                int totalDeduction, int overtimeCount, int overtimePay, LocalDateTime updatedDate);
+
+    // EXPENSES REPORT QUERY, the salary version of each month is the one whose validity range covers its last day.
+    // NOT EXISTS keeps it to that single version even for rows whose validTo was never filled, so no month is counted twice.
+    @Query("""
+            SELECT new com.dev.attendo.dtos.report.ExpenseSummaryRow(
+                m.periodStart,
+                m.presentCount,
+                m.totalDeduction,
+                m.overtimePay,
+                m.overtimeCount,
+                s.amount)
+            FROM MonthlyAttendanceSummary m
+            LEFT JOIN Salary s ON s.user.id = m.user.id
+                AND s.effectiveDate <= LAST_DAY(m.periodStart)
+                AND (s.validTo IS NULL OR s.validTo > LAST_DAY(m.periodStart))
+                AND NOT EXISTS (
+                    SELECT 1 FROM Salary n
+                    WHERE n.user.id = s.user.id
+                    AND n.effectiveDate <= LAST_DAY(m.periodStart)
+                    AND (n.effectiveDate > s.effectiveDate
+                        OR (n.effectiveDate = s.effectiveDate AND (n.createdDate > s.createdDate
+                            OR (n.createdDate = s.createdDate AND n.id > s.id)))))
+            WHERE m.store.id = :storeId
+            AND m.periodStart >= :startPeriod
+            AND m.periodStart <= :endPeriod
+            """)
+    List<ExpenseSummaryRow> getMonthlyAttendanceCountSummary(Long storeId, LocalDate startPeriod, LocalDate endPeriod);
+
+    // FREQUENTLY LATE EMPLOYEE QUERY
+    @Query("SELECT new com.dev.attendo.dtos.report.LateSummaryRow(m.user.id, m.periodStart, u.username, m.lateCount, m.lateMinutes) " +
+            "FROM MonthlyAttendanceSummary m JOIN m.user u " +
+            "WHERE m.lateCount > 0 " +
+            "AND m.store.id = :storeId " +
+            "AND m.periodStart >= :startPeriod " +
+            "AND m.periodStart <= :endPeriod " +
+            "ORDER BY m.lateCount DESC")
+    List<LateSummaryRow> getLateEmployeesCountSummary(Long storeId, LocalDate startPeriod, LocalDate endPeriod);
+}
@@ -1,5 +1,6 @@
 package com.dev.attendo.repository;
 
+import com.dev.attendo.dtos.report.OvertimeSummaryRow;
 import com.dev.attendo.model.LeaveApplication;
 import com.dev.attendo.model.OvertimeApplication;
 import com.dev.attendo.utils.enums.ApprovalStatusEnum;
@@ -34,11 +35,11 @@ public interface OvertimeApplicationRepository extends JpaRepository<OvertimeApp
     Page<OvertimeApplication> findByUserIdAndStoreAndNameAndStatus(Long userId, Long storeId, LocalDate selectedStartDate, LocalDate selectedEndDate, ApprovalStatusEnum status, Pageable pageDetails);
 
 
-    @Query("SELECT YEAR(o.overtimeDate) AS year, MONTH(o.overtimeDate) AS month, COUNT(o) AS totalOvertimeDays FROM OvertimeApplication o " +
+    @Query("SELECT new com.dev.attendo.dtos.report.OvertimeSummaryRow(YEAR(o.overtimeDate), MONTH(o.overtimeDate), COUNT(o)) FROM OvertimeApplication o " +
             "WHERE o.user.store.id = :storeId " +
             "AND o.status = 'APPROVED' " +
             "AND o.overtimeDate BETWEEN :startDate AND :endDate " +
             "GROUP BY YEAR(o.overtimeDate), MONTH(o.overtimeDate)")
-    List<Object[]> getOvertimeCountSummary(Long storeId, LocalDate startDate, LocalDate endDate);
+    List<OvertimeSummaryRow> getOvertimeCountSummary(Long storeId, LocalDate startDate, LocalDate endDate);
 
 }
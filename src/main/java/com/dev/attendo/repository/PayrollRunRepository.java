@@ -0,0 +1,26 @@
+package com.dev.attendo.repository;
+
+import com.dev.attendo.model.PayrollRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    boolean existsByStoreIdAndPeriodYearAndPeriodMonth(Long storeId, int periodYear, int periodMonth);
+
+    @Query(value = "SELECT p FROM PayrollRun p JOIN FETCH p.user u " +
+            "WHERE p.store.id = :storeId " +
+            "AND p.periodYear = :year " +
+            "AND p.periodMonth = :month " +
+            "ORDER BY u.username ASC",
+            countQuery = "SELECT COUNT(p) FROM PayrollRun p " +
+                    "WHERE p.store.id = :storeId " +
+                    "AND p.periodYear = :year " +
+                    "AND p.periodMonth = :month"
+    )
+    Page<PayrollRun> findByStoreAndPeriod(Long storeId, int year, int month, Pageable pageDetails);
+}
@@ -5,9 +5,11 @@ import com.dev.attendo.utils.enums.RoleEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,9 +24,24 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
             "AND LOWER(p.name) LIKE LOWER(:keyword)")
     Page<Profile> getAllAssociateProfile(String currentRole, Long storeId, String keyword, Pageable pageDetails);
 
-    @Query("SELECT p FROM Profile p JOIN p.user u JOIN p.schedule s " +
-            "WHERE u.store.id = :storeId " +
-            "AND s.id = :scheduleId " +
-            "AND u.isActive = :isActive")
-    List<Profile> findAllProfileByStoreAndScheduleAndIsActive(Long storeId, Long scheduleId, boolean isActive);
+    // Run through BulkMutationHelper
+    @Modifying
+    @Query("UPDATE Profile p SET p.schedule = null, p.updatedDate = :updatedDate " +
+            "WHERE p.schedule.id = :scheduleId")
+    int clearSchedule(Long scheduleId, LocalDateTime updatedDate);
+
+    @Modifying
+    @Query("UPDATE Profile p SET p.schedule = null, p.updatedDate = :updatedDate " +
+            "WHERE p.schedule IS NOT NULL " +
+            "AND p.id IN (SELECT u.profile.id FROM User u WHERE u.store.id = :storeId AND u.isActive = :isActive)")
+    int clearScheduleByStoreIdAndIsActive(Long storeId, boolean isActive, LocalDateTime updatedDate);
+
+    @Query("SELECT p.profilePictureKey FROM Profile p WHERE p.id = :profileId")
+    Optional<String> findProfilePictureKey(Long profileId);
+
+    @Query("SELECT p.id FROM Profile p " +
+            "WHERE p.profilePicture IS NOT NULL " +
+            "AND p.profilePictureKey IS NULL " +
+            "ORDER BY p.id ASC")
+    List<Long> findIdsWithLegacyProfilePicture(Pageable pageDetails);
 }
@@ -1,11 +1,16 @@
 package com.dev.attendo.repository;
 
+import com.dev.attendo.dtos.salary.EmployeePayrollFigures;
+import com.dev.attendo.dtos.salary.PayrollFigures;
 import com.dev.attendo.model.Salary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +21,48 @@ public interface SalaryRepository extends JpaRepository<Salary, Long> {
             "AND s.effectiveDate <= COALESCE(:targetDate, CURRENT_DATE) " +
             "ORDER BY s.effectiveDate DESC, s.createdDate DESC LIMIT 1")
     Optional<Salary> findLatestActiveSalaryByUserAndOptionalDate(Long userId, LocalDate targetDate);
+
+    @Query("SELECT s FROM Salary s WHERE s.user.id = :userId ORDER BY s.effectiveDate ASC, s.createdDate ASC, s.id ASC")
+    List<Salary> findSalaryHistoryByUser(Long userId);
+
+    // Users after afterUserId with a salary row still open-ended (validTo null) although a later version exists
+    @Query("SELECT DISTINCT s.user.id FROM Salary s WHERE s.validTo IS NULL AND s.user.id > :afterUserId " +
+            "AND EXISTS (SELECT 1 FROM Salary n WHERE n.user.id = s.user.id " +
+            "AND (n.effectiveDate > s.effectiveDate OR (n.effectiveDate = s.effectiveDate " +
+            "AND (n.createdDate > s.createdDate OR (n.createdDate = s.createdDate AND n.id > s.id))))) " +
+            "ORDER BY s.user.id")
+    List<Long> findUserIdsWithUnchainedSalary(Long afterUserId, Pageable pageDetails);
+
+    // Salary version, valid attendances, overtime pay, loans and deductions of user u for one payroll period as scalar
+    // subqueries, shared by both payroll queries below. Attendance figures come from MonthlyAttendanceSummary, period is
+    // the first day of the month and startDate/endDate bound its loans. A month without summary rows, not backfilled yet,
+    // falls back to the user's attendances of the month. The salary amount is null when no salary is effective yet.
+    String PAYROLL_FIGURES_OF_USER =
+            "(SELECT s.amount FROM Salary s WHERE s.user.id = u.id " +
+            "AND s.effectiveDate <= COALESCE(:targetDate, CURRENT_DATE) " +
+            "ORDER BY s.effectiveDate DESC, s.createdDate DESC LIMIT 1), " +
+            "COALESCE((SELECT SUM(m.presentCount) FROM MonthlyAttendanceSummary m WHERE m.user.id = u.id AND m.periodStart = :period), " +
+            "(SELECT COUNT(a) FROM Attendance a WHERE a.user.id = u.id AND a.clockIn >= :startDate AND a.clockIn < :endDate " +
+            "AND a.type = 'DAILY' AND a.status IN ('PRESENT', 'LATE'))), " +
+            "COALESCE((SELECT SUM(m.overtimePay) FROM MonthlyAttendanceSummary m WHERE m.user.id = u.id AND m.periodStart = :period), " +
+            "(SELECT COALESCE(SUM(o.overtimePay), 0L) FROM Attendance a JOIN a.overtimeApplication o WHERE a.user.id = u.id " +
+            "AND a.clockIn >= :startDate AND a.clockIn < :endDate AND a.status IN ('PRESENT', 'LATE'))), " +
+            "(SELECT COALESCE(SUM(l.amount), 0L) FROM Loan l WHERE l.user.id = u.id AND l.store.id = :storeId " +
+            "AND l.createdDate >= :startDate AND l.createdDate < :endDate), " +
+            "COALESCE((SELECT SUM(m.totalDeduction) FROM MonthlyAttendanceSummary m WHERE m.user.id = u.id AND m.periodStart = :period), " +
+            "(SELECT COALESCE(SUM(a.deductionAmount), 0L) FROM Attendance a WHERE a.user.id = u.id " +
+            "AND a.clockIn >= :startDate AND a.clockIn < :endDate))";
+
+    // Every figure a salary is computed from, in one round trip.
+    @Query("SELECT new com.dev.attendo.dtos.salary.PayrollFigures(" + PAYROLL_FIGURES_OF_USER + ") " +
+            "FROM User u WHERE u.id = :userId")
+    Optional<PayrollFigures> getPayrollFigures(Long userId, Long storeId, LocalDate targetDate, LocalDate period, LocalDateTime startDate, LocalDateTime endDate);
+
+    // getPayrollFigures for every active employee of a store, one row per user in a single statement.
+    @Query(value = "SELECT new com.dev.attendo.dtos.salary.EmployeePayrollFigures(u.id, u.username, " + PAYROLL_FIGURES_OF_USER + ") " +
+            "FROM User u WHERE u.store.id = :storeId AND u.isActive = true " +
+            "ORDER BY u.username ASC",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.store.id = :storeId AND u.isActive = true"
+    )
+    Page<EmployeePayrollFigures> getStorePayrollFigures(Long storeId, LocalDate targetDate, LocalDate period, LocalDateTime startDate, LocalDateTime endDate, Pageable pageDetails);
 }
@@ -2,9 +2,11 @@ package com.dev.attendo.repository;
 
 import com.dev.attendo.model.Store;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +17,24 @@ public interface StoreRepository extends JpaRepository<Store, Long> {
 
     @Query("SELECT s FROM Store s WHERE s.owner.username = :username")
     List<Store> findAllByOwnerUsername(String username);
+
+    // Check and increment happen in one statement under the row lock, so concurrent break-ins can not overshoot maxBreakCount.
+    // Returns 0 when every break slot is taken.
+    @Modifying
+    @Query("UPDATE Store s SET s.currentBreakCount = s.currentBreakCount + 1 WHERE s.id = :storeId AND s.currentBreakCount < s.maxBreakCount")
+    int acquireBreakSlot(Long storeId);
+
+    @Modifying
+    @Query("UPDATE Store s SET s.currentBreakCount = s.currentBreakCount - 1 WHERE s.id = :storeId AND s.currentBreakCount > 0")
+    int releaseBreakSlot(Long storeId);
+
+    // Resets the count to the breaks still open since startDate, for one store or every store when storeId is null.
+    // Only stores whose count drifted are written.
+    @Modifying
+    @Query("UPDATE Store s SET s.currentBreakCount = " +
+            "(SELECT COUNT(a) FROM Attendance a WHERE a.store = s AND a.breakIn IS NOT NULL AND a.breakOut IS NULL AND a.clockIn >= :startDate) " +
+            "WHERE (:storeId IS NULL OR s.id = :storeId) " +
+            "AND s.currentBreakCount <> " +
+            "(SELECT COUNT(a) FROM Attendance a WHERE a.store = s AND a.breakIn IS NOT NULL AND a.breakOut IS NULL AND a.clockIn >= :startDate)")
+    int reconcileBreakSlots(Long storeId, LocalDateTime startDate);
 }
@@ -1,11 +1,15 @@
 package com.dev.attendo.repository;
 
+import com.dev.attendo.dtos.user.UserIdentity;
 import com.dev.attendo.model.User;
+import com.dev.attendo.security.service.UserAuthSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,5 +26,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmailAndIsActiveTrue(String email);
 
-    List<User> findAllByStoreIdAndIsActive(Long storeId, boolean isActive);
+    @Query("SELECT new com.dev.attendo.dtos.user.UserIdentity(u.id, u.username) FROM User u " +
+            "WHERE u.store.id = :storeId " +
+            "AND u.isActive = :isActive"
+    )
+    List<UserIdentity> findIdentitiesByStoreIdAndIsActive(Long storeId, boolean isActive);
+
+    // Run through BulkMutationHelper
+    @Modifying
+    @Query("UPDATE User u SET u.store = null, u.updatedDate = :updatedDate " +
+            "WHERE u.store.id = :storeId " +
+            "AND u.isActive = :isActive"
+    )
+    int detachFromStore(Long storeId, boolean isActive, LocalDateTime updatedDate);
+
+    @Query("SELECT new com.dev.attendo.security.service.UserAuthSnapshot(u.id, u.username, u.isActive, r.name, s.id) FROM User u " +
+            "JOIN u.role r " +
+            "LEFT JOIN u.store s " +
+            "WHERE u.id = :userId"
+    )
+    Optional<UserAuthSnapshot> findAuthSnapshot(Long userId);
 }
@@ -1,6 +1,9 @@
 package com.dev.attendo.security.jwt;
 
+import com.dev.attendo.security.service.UserAuthStateCache;
+import com.dev.attendo.security.service.UserDetailsImpl;
 import com.dev.attendo.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,19 +30,23 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserAuthStateCache userAuthStateCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
         try {
             String jwtToken = parseJwt(request);
-            if (jwtToken != null && jwtUtils.validateJwtToken(jwtToken)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwtToken);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Set SecurityContext with Authenticated User by using JWT Token only.
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwtToken != null ? jwtUtils.getClaimsFromJwtToken(jwtToken) : null;
+            if (claims != null) {
+                UserDetails userDetails = resolveUserDetails(claims);
+                if (userDetails != null) {
+                    // Set SecurityContext with Authenticated User by using JWT Token only.
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -47,6 +54,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Tokens with user claims are checked against the cached user state only, older tokens still load the user.
+    private UserDetails resolveUserDetails(Claims claims) {
+        UserDetailsImpl userDetails = jwtUtils.getUserDetailsFromClaims(claims);
+        if (userDetails == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        if (!userAuthStateCache.isCurrent(userDetails)) {
+            logger.debug("JWT Token of user {} no longer matches the user's state", claims.getSubject());
+            return null;
+        }
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         return jwtUtils.getJwtFromHeader(request);
     }
@@ -1,34 +1,51 @@
 package com.dev.attendo.security.jwt;
 
+import com.dev.attendo.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String ROLE_CLAIM = "role";
+    private static final String STORE_ID_CLAIM = "storeId";
+
     @Value("${spring.app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${spring.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(jwtSecret));
+    // Built once, both are immutable and thread-safe.
+    private SecretKey key;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(jwtSecret));
+        jwtParser = Jwts.parser().verifyWith(key).build();
     }
 
     public String getJwtFromHeader(HttpServletRequest request) {
@@ -42,30 +59,49 @@ public class JwtUtils {
 
     public String generateTokenFromUsername(UserDetails userDetails) {
         String username = userDetails.getUsername();
-        return Jwts.builder()
-                .subject(username)
+        JwtBuilder jwtBuilder = Jwts.builder().subject(username);
+
+        // Carry everything the security context needs, so authenticated requests do not have to load the user.
+        if (userDetails instanceof UserDetailsImpl userDetailsImpl) {
+            jwtBuilder.claim(USER_ID_CLAIM, userDetailsImpl.getId())
+                    .claim(ROLE_CLAIM, userDetailsImpl.getAuthorities().iterator().next().getAuthority())
+                    .claim(STORE_ID_CLAIM, userDetailsImpl.getStoreId());
+        }
+
+        return jwtBuilder
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key())
+                .signWith(key)
                 .compact();
     }
 
-    public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build().parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    // Null for tokens issued before the user claims were added, those still need a user lookup.
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        return new UserDetailsImpl(
+                userId,
+                claims.getSubject(),
+                null,
+                null,
+                true,
+                claims.get(STORE_ID_CLAIM, Long.class),
+                List.of(new SimpleGrantedAuthority(role))
+        );
     }
 
-    public boolean validateJwtToken(String token) {
+    // Verifies the token and returns its claims in a single parse, null when the token is not valid.
+    public Claims getClaimsFromJwtToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith((SecretKey) key())
-                    .build().parseSignedClaims(token);
-            return true;
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT Token: {}", e.getMessage());
+        } catch (SignatureException e) {
+            logger.error("JWT Token signature is invalid: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT Token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -73,6 +109,6 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("JWT Token claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,7 @@
+package com.dev.attendo.security.service;
+
+import com.dev.attendo.utils.enums.RoleEnum;
+
+// The user columns a JWT's claims are checked against, loaded without the User entity and its eager role join.
+public record UserAuthSnapshot(Long id, String username, boolean isActive, RoleEnum role, Long storeId) {
+}
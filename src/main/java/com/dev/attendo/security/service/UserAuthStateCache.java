@@ -0,0 +1,39 @@
+package com.dev.attendo.security.service;
+
+import com.dev.attendo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+// Short-lived per-user state used to reject tokens whose claims no longer match the database:
+// deactivated or deleted accounts, changed usernames, roles or stores.
+@Component
+public class UserAuthStateCache {
+    public static final String CACHE_NAME = "userAuthState";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public boolean isCurrent(UserDetailsImpl userDetails) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+        UserAuthSnapshot snapshot = cache.get(userDetails.getId(), () -> userRepository.findAuthSnapshot(userDetails.getId()).orElse(null));
+        return snapshot != null
+                && snapshot.isActive()
+                && Objects.equals(snapshot.username(), userDetails.getUsername())
+                && Objects.equals(snapshot.storeId(), userDetails.getStoreId())
+                && userDetails.getAuthorities().stream().anyMatch(authority -> authority.getAuthority().equals(snapshot.role().name()));
+    }
+
+    // Runs after commit (or right away outside a transaction), so a concurrent request can not cache the old state again.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        Objects.requireNonNull(cacheManager.getCache(CACHE_NAME)).evict(event.userId());
+    }
+}
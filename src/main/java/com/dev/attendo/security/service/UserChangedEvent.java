@@ -0,0 +1,5 @@
+package com.dev.attendo.security.service;
+
+// Published whenever a user's credentials, role, store or active state change, so cached authentication data is dropped after commit.
+public record UserChangedEvent(Long userId, String username) {
+}
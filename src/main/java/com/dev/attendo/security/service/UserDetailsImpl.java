@@ -32,14 +32,17 @@ public class UserDetailsImpl implements UserDetails {
 
     private boolean isActive;
 
+    private Long storeId;
+
     private Collection<? extends GrantedAuthority> authorities;
 
-    public UserDetailsImpl(Long id, String username, String email, String password, boolean isActive, Collection<? extends GrantedAuthority> authorities) {
+    public UserDetailsImpl(Long id, String username, String email, String password, boolean isActive, Long storeId, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.isActive = isActive;
+        this.storeId = storeId;
         this.authorities = authorities;
     }
 
@@ -51,6 +54,7 @@ public class UserDetailsImpl implements UserDetails {
                 user.getEmail(),
                 user.getPassword(),
                 user.isActive(),
+                user.getStore() != null ? user.getStore().getId() : null,
                 List.of(authority)
         );
     }
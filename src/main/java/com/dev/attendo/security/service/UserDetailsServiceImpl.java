@@ -3,16 +3,23 @@ package com.dev.attendo.security.service;
 import com.dev.attendo.model.User;
 import com.dev.attendo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
+    public static final String CACHE_NAME = "userDetails";
+
     @Autowired
     UserRepository userRepository;
 
+    // Unknown or inactive usernames throw and are therefore never cached.
+    @Cacheable(cacheNames = CACHE_NAME, key = "#username")
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsernameAndIsActiveTrue(username)
@@ -20,4 +27,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserDetailsImpl.build(user);
     }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#event.username()")
+    public void onUserChanged(UserChangedEvent event) {
+    }
 }
@@ -2,7 +2,7 @@ package com.dev.attendo.service;
 
 import com.dev.attendo.dtos.attendance.AttendanceDTO;
 import com.dev.attendo.dtos.attendance.AttendancePagination;
-import org.springframework.web.multipart.MultipartFile;
+import com.dev.attendo.utils.storage.StoredPhoto;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,13 +11,21 @@ import java.util.Map;
 
 public interface AttendanceService {
 
-    void overtimeClockIn(Long attendanceId, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng);
+    void validateOvertimeClockIn(Long attendanceId, double lat, double lng);
 
-    void overtimeClockOut(Long attendanceId, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng);
+    void validateOvertimeClockOut(Long attendanceId, double lat, double lng);
 
-    void dailyClockIn(String username, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng);
+    void validateDailyClockIn(String username, LocalDateTime currentDateTime, double lat, double lng);
 
-    void dailyClockOut(Long attendanceId, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng);
+    void validateDailyClockOut(Long attendanceId, double lat, double lng);
+
+    void overtimeClockIn(Long attendanceId, LocalDateTime currentDateTime, String photoKey, double lat, double lng);
+
+    void overtimeClockOut(Long attendanceId, LocalDateTime currentDateTime, String photoKey, double lat, double lng);
+
+    void dailyClockIn(String username, LocalDateTime currentDateTime, String photoKey, double lat, double lng);
+
+    void dailyClockOut(Long attendanceId, LocalDateTime currentDateTime, String photoKey, double lat, double lng);
 
     void breakIn(Long attendanceId, LocalDateTime currentDateTime);
 
@@ -31,7 +39,7 @@ public interface AttendanceService {
 
     List<AttendanceDTO> getAttendanceByMonthAndYear(Long userId, int month, int year);
 
-    byte[] getAttendancePhoto(Long attendanceId, String type);
+    StoredPhoto getAttendancePhoto(Long attendanceId, String type, Integer size);
 
     String getInAreaStatus(Long storeId, double lat, double lng);
 
@@ -0,0 +1,10 @@
+package com.dev.attendo.service;
+
+import com.dev.attendo.dtos.salary.PayrollRunPagination;
+
+public interface PayrollRunService {
+
+    PayrollRunPagination getPayrollRun(Long storeId, int month, int year, Integer pageNumber, Integer pageSize);
+
+    void closePayrollRun(Long storeId, String currentLoggedIn, int month, int year);
+}
@@ -3,6 +3,7 @@ package com.dev.attendo.service;
 import com.dev.attendo.dtos.profile.ProfileDTO;
 import com.dev.attendo.dtos.profile.ProfilePagination;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.storage.StoredPhoto;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -18,7 +19,7 @@ public interface ProfileService {
 
     void updateProfile(Long profileId, ProfileDTO profileDTO, MultipartFile profilePicture);
 
-    byte[] getProfilePicture(Long profileId);
+    StoredPhoto getProfilePicture(Long profileId, Integer size);
 
     void updateWorkSchedule(Long profileId, Long scheduleId, String currentUser);
 }
@@ -1,12 +1,14 @@
 package com.dev.attendo.service;
 
-import java.util.Map;
+import com.dev.attendo.dtos.report.ExpensesReportDTO;
+import com.dev.attendo.dtos.report.FrequentlyLateReportDTO;
+import com.dev.attendo.dtos.report.LeaveVsOvertimeReportDTO;
 
 public interface ReportService {
 
-    Map<String, Object> getExpensesReport(Long storeId, int period);
+    ExpensesReportDTO getExpensesReport(Long storeId, int period);
 
-    Map<String, Object> getFrequentlyLateReport(Long storeId, int period);
+    FrequentlyLateReportDTO getFrequentlyLateReport(Long storeId, int period);
 
-    Map<String, Object> getLeaveVsOvertimeReport(Long storeId, int period);
+    LeaveVsOvertimeReportDTO getLeaveVsOvertimeReport(Long storeId, int period);
 }
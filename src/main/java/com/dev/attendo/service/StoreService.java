@@ -15,5 +15,7 @@ public interface StoreService {
 
     void storeActivation(Long storeId);
 
+    void reconcileBreakCount(Long storeId);
+
     List<StoreDTO> getAllOwnedStore(String username);
 }
@@ -7,6 +7,7 @@ import com.dev.attendo.model.ActivityLog;
 import com.dev.attendo.model.User;
 import com.dev.attendo.repository.ActivityLogRepository;
 import com.dev.attendo.service.ActivityLogService;
+import com.dev.attendo.utils.helper.DateRangeUtils;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -36,7 +37,7 @@ public class ActivityLogServiceImpl implements ActivityLogService {
                 : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        Page<ActivityLog> pageAuditLogs = activityLogRepository.getAllActivityLog(storeId, '%' + keyword + '%', actionMethod, startDate, endDate, pageDetails);
+        Page<ActivityLog> pageAuditLogs = activityLogRepository.getAllActivityLog(storeId, '%' + keyword + '%', actionMethod, DateRangeUtils.startOfDay(startDate), DateRangeUtils.startOfNextDay(endDate), pageDetails);
 
         List<ActivityLog> activityLogList = pageAuditLogs.getContent();
         List<ActivityLogDTO> activityLogDTOList = activityLogList.stream().map(activityLog -> {
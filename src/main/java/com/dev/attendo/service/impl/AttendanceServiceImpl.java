@@ -12,15 +12,23 @@ import com.dev.attendo.service.AttendanceService;
 import com.dev.attendo.utils.enums.AttendanceStatusEnum;
 import com.dev.attendo.utils.enums.AttendanceTypeEnum;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.helper.AttendanceSummaryUpdater;
+import com.dev.attendo.utils.helper.BreakSlotAdmission;
+import com.dev.attendo.utils.helper.DateRangeUtils;
 import com.dev.attendo.utils.helper.GeolocationUtils;
+import com.dev.attendo.utils.helper.RetryOnOptimisticLock;
+import com.dev.attendo.utils.helper.SalaryIntervalIndex;
+import com.dev.attendo.utils.storage.PhotoRenditionService;
+import com.dev.attendo.utils.storage.StoredPhoto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 import org.modelmapper.ModelMapper;
 
 import java.time.Duration;
@@ -41,54 +49,91 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Autowired
     private StoreRepository storeRepository;
 
-    @Autowired
-    private SalaryRepository salaryRepository;
-
     @Autowired
     private ActivityLogService activityLogService;
 
     @Autowired
     private ModelMapper modelMapper;
 
-    @Transactional
+    @Autowired
+    private PhotoRenditionService photoRenditionService;
+
+    @Autowired
+    private AttendanceSummaryUpdater attendanceSummaryUpdater;
+
+    @Autowired
+    private SalaryIntervalIndex salaryIntervalIndex;
+
+    @Autowired
+    private BreakSlotAdmission breakSlotAdmission;
+
+    // The validate methods run the checks of the clock methods below without writing anything. The controller calls
+    // them before storing the photo, so a request outside the radius or in the wrong state never uploads it.
+    @Transactional(readOnly = true)
     @Override
-    public void overtimeClockIn(Long attendanceId, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng) {
+    public void validateOvertimeClockIn(Long attendanceId, double lat, double lng) {
         Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Presensi lembur dengan id: " + attendanceId + " tidak ditemukan!"));
-        Store selectedStore = selectedAttendance.getStore();
+        checkOvertimeClockIn(selectedAttendance, lat, lng);
+    }
 
-        // Calculate and compare distance between user's location with store location and store radius.
-        double calculateInMeters = GeolocationUtils.calculateDistance(lat, lng, selectedStore.getLat(), selectedStore.getLng());
-        if (calculateInMeters > selectedStore.getRadius()) {
-            throw new BadRequestException("Presensi tidak bisa dilakukan diluar radius yang ditentukan!");
-        }
+    @Transactional(readOnly = true)
+    @Override
+    public void validateOvertimeClockOut(Long attendanceId, double lat, double lng) {
+        Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Data presensi tidak ditemukan!"));
+        checkOvertimeClockOut(selectedAttendance, lat, lng);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void validateDailyClockIn(String username, LocalDateTime currentDateTime, double lat, double lng) {
+        User selectedUser = userRepository.findByUsernameAndIsActiveTrue(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User dengan username: " + username + " tidak ditemukan!"));
+        checkDailyClockIn(selectedUser, currentDateTime, lat, lng);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void validateDailyClockOut(Long attendanceId, double lat, double lng) {
+        Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Data presensi tidak ditemukan!"));
+        checkDailyClockOut(selectedAttendance, lat, lng);
+    }
+
+    @RetryOnOptimisticLock
+    @Transactional
+    @Override
+    public void overtimeClockIn(Long attendanceId, LocalDateTime currentDateTime, String photoKey, double lat, double lng) {
+        Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Presensi lembur dengan id: " + attendanceId + " tidak ditemukan!"));
+        checkOvertimeClockIn(selectedAttendance, lat, lng);
 
         try {
-            selectedAttendance.setPhotoIn(photo.getBytes());
+            selectedAttendance.setPhotoInKey(photoKey);
             selectedAttendance.setClockIn(currentDateTime);
             selectedAttendance.setUpdatedDate(LocalDateTime.now());
             attendanceRepository.save(selectedAttendance);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal melakukan presensi clock-in lembur!");
         }
     }
 
+    @RetryOnOptimisticLock
+    @Transactional
     @Override
-    public void overtimeClockOut(Long attendanceId, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng) {
+    public void overtimeClockOut(Long attendanceId, LocalDateTime currentDateTime, String photoKey, double lat, double lng) {
         Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data presensi tidak ditemukan!"));
         Store selectedStore = selectedAttendance.getStore();
         OvertimeApplication selectedOvertimeApplication = selectedAttendance.getOvertimeApplication();
-
-        // Calculate and compare distance between user's location with store location and store radius.
-        double calculateInMeters = GeolocationUtils.calculateDistance(lat, lng, selectedStore.getLat(), selectedStore.getLng());
-        if (calculateInMeters > selectedStore.getRadius()) {
-            throw new BadRequestException("Presensi tidak bisa dilakukan diluar radius yang ditentukan!");
-        }
+        checkOvertimeClockOut(selectedAttendance, lat, lng);
 
         try {
-            selectedAttendance.setPhotoOut(photo.getBytes());
+            selectedAttendance.setPhotoOutKey(photoKey);
             selectedAttendance.setClockOut(currentDateTime);
             selectedAttendance.setUpdatedDate(LocalDateTime.now());
 
@@ -131,11 +176,13 @@ public class AttendanceServiceImpl implements AttendanceService {
                 }
                 selectedAttendance.setBreakOut(currentDateTime);
 
-                selectedStore.setCurrentBreakCount(selectedStore.getCurrentBreakCount() - 1);
-                storeRepository.save(selectedStore);
+                breakSlotAdmission.release(selectedStore.getId());
             }
             attendanceRepository.save(selectedAttendance);
+            attendanceSummaryUpdater.refresh(selectedAttendance);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal melakukan presensi clock-out lembur!");
         }
@@ -143,22 +190,17 @@ public class AttendanceServiceImpl implements AttendanceService {
 
     @Transactional
     @Override
-    public void dailyClockIn(String username, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng) {
+    public void dailyClockIn(String username, LocalDateTime currentDateTime, String photoKey, double lat, double lng) {
         User selectedUser = userRepository.findByUsernameAndIsActiveTrue(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User dengan username: " + username + " tidak ditemukan!"));
         Store selectedStore = selectedUser.getStore();
-
-        // Calculate and compare distance between user's location with store location and store radius.
-        double calculateInMeters = GeolocationUtils.calculateDistance(lat, lng, selectedStore.getLat(), selectedStore.getLng());
-        if (calculateInMeters > selectedStore.getRadius()) {
-            throw new BadRequestException("Presensi tidak bisa dilakukan diluar radius yang ditentukan!");
-        }
+        checkDailyClockIn(selectedUser, currentDateTime, lat, lng);
 
         try {
             Attendance newAttendance = new Attendance();
             newAttendance.setStatus(AttendanceStatusEnum.ABSENT);
             newAttendance.setType(AttendanceTypeEnum.DAILY);
-            newAttendance.setPhotoIn(photo.getBytes());
+            newAttendance.setPhotoInKey(photoKey);
             newAttendance.setClockIn(currentDateTime);
             newAttendance.setDescription("");
             newAttendance.setDeductionAmount(0);
@@ -172,22 +214,19 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
-    public void dailyClockOut(Long attendanceId, LocalDateTime currentDateTime, MultipartFile photo, double lat, double lng) {
+    public void dailyClockOut(Long attendanceId, LocalDateTime currentDateTime, String photoKey, double lat, double lng) {
         Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data presensi tidak ditemukan!"));
         Store selectedStore = selectedAttendance.getStore();
         Schedule assignedSchedule = selectedAttendance.getUser().getProfile().getSchedule();
         User selectedUser = selectedAttendance.getUser();
-
-        double calculateInMeters = GeolocationUtils.calculateDistance(lat, lng, selectedStore.getLat(), selectedStore.getLng());
-        if (calculateInMeters > selectedStore.getRadius()) {
-            throw new BadRequestException("Presensi tidak bisa dilakukan diluar radius yang ditentukan!");
-        }
+        checkDailyClockOut(selectedAttendance, lat, lng);
 
         try {
-            selectedAttendance.setPhotoOut(photo.getBytes());
+            selectedAttendance.setPhotoOutKey(photoKey);
             selectedAttendance.setClockOut(currentDateTime);
             selectedAttendance.setUpdatedDate(LocalDateTime.now());
 
@@ -230,17 +269,20 @@ public class AttendanceServiceImpl implements AttendanceService {
                 }
                 selectedAttendance.setBreakOut(currentDateTime);
 
-                selectedStore.setCurrentBreakCount(selectedStore.getCurrentBreakCount() - 1);
-                storeRepository.save(selectedStore);
+                breakSlotAdmission.release(selectedStore.getId());
             }
 
             attendanceRepository.save(selectedAttendance);
+            attendanceSummaryUpdater.refresh(selectedAttendance);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal melakukan presensi clock-out harian!");
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void breakIn(Long attendanceId, LocalDateTime currentDateTime) {
@@ -248,7 +290,12 @@ public class AttendanceServiceImpl implements AttendanceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Data presensi tidak ditemukan!"));
         Store selectedStore = selectedAttendance.getUser().getStore();
 
-        if (selectedStore.getCurrentBreakCount() >= selectedStore.getMaxBreakCount()) {
+        // A second break-in would take another slot that the single break-out never gives back
+        if (selectedAttendance.getBreakIn() != null && selectedAttendance.getBreakOut() == null) {
+            throw new BadRequestException("Anda masih dalam waktu istirahat, lakukan break-out terlebih dahulu!");
+        }
+
+        if (!breakSlotAdmission.tryAcquire(selectedStore.getId())) {
             throw new InternalServerErrorException("Batas jumlah istirahat telah dipenuhi. Mohon menunggu karyawan lain selesai istirahat!");
         }
 
@@ -257,14 +304,14 @@ public class AttendanceServiceImpl implements AttendanceService {
             selectedAttendance.setUpdatedDate(LocalDateTime.now());
             attendanceRepository.save(selectedAttendance);
 
-            selectedStore.setCurrentBreakCount(selectedStore.getCurrentBreakCount() + 1);
-            storeRepository.save(selectedStore);
-
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal melakukan break-in!");
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void breakOut(Long attendanceId, LocalDateTime currentDateTime) {
@@ -273,6 +320,14 @@ public class AttendanceServiceImpl implements AttendanceService {
         User selectedUser = selectedAttendance.getUser();
         Store selectedStore = selectedUser.getStore();
 
+        // Only an open break holds a slot, releasing for any other call would free a slot of another employee
+        if (selectedAttendance.getBreakIn() == null) {
+            throw new BadRequestException("Break-in belum dilakukan!");
+        }
+        if (selectedAttendance.getBreakOut() != null) {
+            throw new BadRequestException("Break-out telah dilakukan!");
+        }
+
         long breakDuration = Duration.between(selectedAttendance.getBreakIn(), currentDateTime).toMinutes();
         try {
             selectedAttendance.setBreakOut(currentDateTime);
@@ -284,10 +339,12 @@ public class AttendanceServiceImpl implements AttendanceService {
                 selectedAttendance.setDescription(Objects.toString(selectedAttendance.getDescription(), "") + selectedUser.getProfile().getName() + " is break more then " + selectedStore.getBreakDuration() + " minutes!\n\n");
             }
             attendanceRepository.save(selectedAttendance);
+            attendanceSummaryUpdater.refresh(selectedAttendance);
 
-            selectedStore.setCurrentBreakCount(selectedStore.getCurrentBreakCount() - 1);
-            storeRepository.save(selectedStore);
+            breakSlotAdmission.release(selectedStore.getId());
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal melakukan break-out!");
         }
@@ -299,7 +356,7 @@ public class AttendanceServiceImpl implements AttendanceService {
                 .orElseThrow(() -> new ResourceNotFoundException("Data presensi tidak ditemukan!"));
 
         LocalDate targetDate = YearMonth.of(selectedAttendance.getClockIn().getYear(), selectedAttendance.getClockIn().getMonth()).atEndOfMonth();
-        Salary currentSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(selectedAttendance.getUser().getId(), targetDate)
+        int currentSalaryAmount = salaryIntervalIndex.findAmount(selectedAttendance.getUser().getId(), targetDate)
                 .orElseThrow(() -> new ResourceNotFoundException("Data gaji belum didefinisikan!"));
 
         Profile selectedProfile = selectedAttendance.getUser().getProfile();
@@ -313,12 +370,13 @@ public class AttendanceServiceImpl implements AttendanceService {
                 ? selectedAttendance.getOvertimeApplication().getId()
                 : null);
         Map<String, Object> response = new HashMap<>();
-        response.put("baseSalary", currentSalary.getAmount());
+        response.put("baseSalary", currentSalaryAmount);
         response.put("attendanceData", attendanceDTO);
 
         return response;
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void updateAttendance(Long attendanceId, String currentLoggedIn, String attendanceStatus, int deductionAmount, String attendanceDescription) {
@@ -333,17 +391,21 @@ public class AttendanceServiceImpl implements AttendanceService {
             selectedAttendance.setDeductionAmount(deductionAmount);
             selectedAttendance.setUpdatedDate(LocalDateTime.now());
             attendanceRepository.save(selectedAttendance);
+            attendanceSummaryUpdater.refresh(selectedAttendance);
 
             if (selectedCurrentLoggedIn.getRole().getName() == RoleEnum.ROLE_ADMIN) {
                 String activityDescription = selectedCurrentLoggedIn.getUsername() + " mengubah data presensi milik " + selectedAttendance.getUser().getUsername() + " pada " + selectedAttendance.getClockIn().toLocalDate();
                 activityLogService.addActivityLog(selectedCurrentLoggedIn, "UPDATE", "Update Presensi", "Presensi", activityDescription);
             }
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengubah data presensi!");
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void removeAttendance(Long attendanceId, String currentLoggedIn) {
@@ -358,7 +420,10 @@ public class AttendanceServiceImpl implements AttendanceService {
                 activityLogService.addActivityLog(selectedCurrentLoggedIn, "DELETE", "Hapus Presensi", "Presensi", activityDescription);
             }
             attendanceRepository.delete(selectedAttendance);
+            attendanceSummaryUpdater.refresh(selectedAttendance);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus data presensi!");
         }
@@ -369,15 +434,31 @@ public class AttendanceServiceImpl implements AttendanceService {
         User selectedUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User dengan id: " + userId + " tidak ditemukan!"));
 
-        List<Attendance> attendanceList = attendanceRepository.findByYearAndMonth(selectedUser.getId(), month, year);
+        List<Attendance> attendanceList = attendanceRepository.findByUserIdAndPeriod(selectedUser.getId(), DateRangeUtils.startOfMonth(year, month), DateRangeUtils.startOfNextMonth(year, month));
         return attendanceList.stream().map(attendance -> modelMapper.map(attendance, AttendanceDTO.class)).toList();
     }
 
     @Override
-    public byte[] getAttendancePhoto(Long attendanceId, String type) {
+    public StoredPhoto getAttendancePhoto(Long attendanceId, String type, Integer size) {
+        PhotoRenditionService.validateSize(size);
+
+        // Only the pointer column is selected here, the photo itself is streamed from PhotoStore.
+        Optional<String> photoKey = type.equals("IN")
+                ? attendanceRepository.findPhotoInKey(attendanceId)
+                : attendanceRepository.findPhotoOutKey(attendanceId);
+        if (photoKey.isPresent()) {
+            return photoRenditionService.load(photoKey.get(), size);
+        }
+
+        // Fallback for rows that have not been drained by PhotoMigration yet, these are always served in full size.
         Attendance selectedAttendance = attendanceRepository.findById(attendanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data presensi dengan id: " + attendanceId + " tidak ditemukan!"));
-        return type.equals("IN") ? selectedAttendance.getPhotoIn() : selectedAttendance.getPhotoOut();
+        byte[] legacyPhoto = type.equals("IN") ? selectedAttendance.getPhotoIn() : selectedAttendance.getPhotoOut();
+        if (legacyPhoto == null) {
+            throw new ResourceNotFoundException("Foto presensi tidak ditemukan!");
+        }
+        ByteArrayResource legacyResource = new ByteArrayResource(legacyPhoto);
+        return new StoredPhoto(null, legacyResource);
     }
 
     @Override
@@ -405,7 +486,7 @@ public class AttendanceServiceImpl implements AttendanceService {
         User selectedUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User dengan id: " + userId + " tidak ditemukan!"));
 
-        Attendance selectedAttendance = attendanceRepository.findByUserId(selectedUser.getId(), LocalDate.now())
+        Attendance selectedAttendance = attendanceRepository.findByUserId(selectedUser.getId(), DateRangeUtils.startOfDay(LocalDate.now()), DateRangeUtils.startOfNextDay(LocalDate.now()))
                 .orElseThrow(() -> new ResourceNotFoundException("Data presensi harian dengan user id: " + selectedUser.getId() + " tidak ditemukan!"));
         return modelMapper.map(selectedAttendance, AttendanceDTO.class);
     }
@@ -422,7 +503,8 @@ public class AttendanceServiceImpl implements AttendanceService {
                 : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        Page<Attendance> pageTodayAttendances = attendanceRepository.getTodayAttendances(selectedStore.getId(), typeEnum, "%" + keyword + "%", pageDetails);
+        LocalDate currentDate = LocalDate.now();
+        Page<Attendance> pageTodayAttendances = attendanceRepository.getTodayAttendances(selectedStore.getId(), typeEnum, "%" + keyword + "%", DateRangeUtils.startOfDay(currentDate), DateRangeUtils.startOfNextDay(currentDate), pageDetails);
 
         List<Attendance> todayAttendanceList = pageTodayAttendances.getContent();
         List<AttendanceDTO> attendanceDTOList = todayAttendanceList.stream().map(attendance -> {
@@ -442,4 +524,43 @@ public class AttendanceServiceImpl implements AttendanceService {
         todayAttendancePagination.setLastPage(pageTodayAttendances.isLast());
         return todayAttendancePagination;
     }
+
+    private void checkOvertimeClockIn(Attendance selectedAttendance, double lat, double lng) {
+        checkInRadius(selectedAttendance.getStore(), lat, lng);
+        if (selectedAttendance.getClockIn() != null) {
+            throw new BadRequestException("Presensi clock-in lembur telah dilakukan!");
+        }
+    }
+
+    private void checkOvertimeClockOut(Attendance selectedAttendance, double lat, double lng) {
+        checkInRadius(selectedAttendance.getStore(), lat, lng);
+        if (selectedAttendance.getClockIn() == null) {
+            throw new BadRequestException("Presensi clock-in lembur belum dilakukan!");
+        }
+        if (selectedAttendance.getClockOut() != null) {
+            throw new BadRequestException("Presensi clock-out lembur telah dilakukan!");
+        }
+    }
+
+    private void checkDailyClockIn(User selectedUser, LocalDateTime currentDateTime, double lat, double lng) {
+        checkInRadius(selectedUser.getStore(), lat, lng);
+        if (attendanceRepository.findByUserId(selectedUser.getId(), DateRangeUtils.startOfDay(currentDateTime.toLocalDate()), DateRangeUtils.startOfNextDay(currentDateTime.toLocalDate())).isPresent()) {
+            throw new BadRequestException("Presensi clock-in harian hari ini telah dilakukan!");
+        }
+    }
+
+    private void checkDailyClockOut(Attendance selectedAttendance, double lat, double lng) {
+        checkInRadius(selectedAttendance.getStore(), lat, lng);
+        if (selectedAttendance.getClockOut() != null) {
+            throw new BadRequestException("Presensi clock-out harian telah dilakukan!");
+        }
+    }
+
+    private void checkInRadius(Store selectedStore, double lat, double lng) {
+        // Calculate and compare distance between user's location with store location and store radius.
+        double calculateInMeters = GeolocationUtils.calculateDistance(lat, lng, selectedStore.getLat(), selectedStore.getLng());
+        if (calculateInMeters > selectedStore.getRadius()) {
+            throw new BadRequestException("Presensi tidak bisa dilakukan diluar radius yang ditentukan!");
+        }
+    }
 }
@@ -8,14 +8,18 @@ import com.dev.attendo.exception.ResourceNotFoundException;
 import com.dev.attendo.model.Attendance;
 import com.dev.attendo.model.LeaveApplication;
 import com.dev.attendo.model.User;
-import com.dev.attendo.repository.AttendanceRepository;
 import com.dev.attendo.repository.LeaveApplicationRepository;
 import com.dev.attendo.repository.UserRepository;
 import com.dev.attendo.service.ActivityLogService;
 import com.dev.attendo.service.LeaveApplicationService;
 import com.dev.attendo.utils.enums.*;
+import com.dev.attendo.utils.helper.AttendanceBulkWriter;
+import com.dev.attendo.utils.helper.ReportDataChangedEvent;
+import com.dev.attendo.utils.helper.RetryOnOptimisticLock;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -39,7 +44,7 @@ public class LeaveApplicationServiceImpl implements LeaveApplicationService {
     UserRepository userRepository;
 
     @Autowired
-    AttendanceRepository attendanceRepository;
+    AttendanceBulkWriter attendanceBulkWriter;
 
     @Autowired
     ActivityLogService activityLogService;
@@ -47,6 +52,9 @@ public class LeaveApplicationServiceImpl implements LeaveApplicationService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     public LeavePagination getAllLeaveApplication(String currentUser, String keyword, String status, String type, Long storeId, LocalDate selectedStartDate, LocalDate selectedEndDate, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         User selectedUser = userRepository.findByUsernameAndIsActiveTrue(currentUser)
@@ -142,6 +150,7 @@ public class LeaveApplicationServiceImpl implements LeaveApplicationService {
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void updateLeaveApplication(Long leaveId, String approverName, String approvalStatus) {
@@ -160,6 +169,7 @@ public class LeaveApplicationServiceImpl implements LeaveApplicationService {
 
             // If Leave Ticket get approved then new attendance with ON_LEAVE type is being created.
             if (ApprovalStatusEnum.valueOf(approvalStatus) == ApprovalStatusEnum.APPROVED) {
+                List<Attendance> leaveAttendances = new ArrayList<>();
                 for (LocalDate date = selectedLeaveApplication.getStartDate(); !date.isAfter(selectedLeaveApplication.getEndDate()); date = date.plusDays(1)) {
                     Attendance leaveAttendance = new Attendance();
                     leaveAttendance.setType(AttendanceTypeEnum.LEAVE);
@@ -170,20 +180,25 @@ public class LeaveApplicationServiceImpl implements LeaveApplicationService {
                     leaveAttendance.setLeaveApplication(selectedLeaveApplication);
                     leaveAttendance.setUser(applicant);
                     leaveAttendance.setStore(applicant.getStore());
-                    attendanceRepository.save(leaveAttendance);
+                    leaveAttendances.add(leaveAttendance);
                 }
+                attendanceBulkWriter.insertAll(leaveAttendances);
             }
+            eventPublisher.publishEvent(new ReportDataChangedEvent(selectedLeaveApplication.getStore().getId()));
 
             if (approver.getRole().getName() == RoleEnum.ROLE_ADMIN) {
                 String activityDescription = approver.getUsername() + " melakukan " + approvalStatus + " pada pengajuan perizinan dengan tanggal " + selectedLeaveApplication.getStartDate().format(DateTimeFormatter.ofPattern("dd MMMM yyyy")) + " - " + selectedLeaveApplication.getEndDate().format(DateTimeFormatter.ofPattern("dd MMMM yyyy")) + " yang dilakukan oleh " + applicant.getUsername();
                 activityLogService.addActivityLog(approver, "UPDATE", "Update Pengajuan Perizinan", "Perizinan", activityDescription);
             }
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengubah pengajuan perizinan!");
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void deleteLeaveApplication(Long leaveId) {
@@ -197,6 +212,8 @@ public class LeaveApplicationServiceImpl implements LeaveApplicationService {
         try {
             leaveApplicationRepository.delete(selectedLeaveApplication);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus pengajuan perizinan!");
         }
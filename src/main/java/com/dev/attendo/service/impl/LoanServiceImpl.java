@@ -2,6 +2,7 @@ package com.dev.attendo.service.impl;
 
 import com.dev.attendo.dtos.loan.LoanDTO;
 import com.dev.attendo.dtos.loan.LoanPagination;
+import com.dev.attendo.dtos.salary.PayrollFigures;
 import com.dev.attendo.exception.BadRequestException;
 import com.dev.attendo.exception.InternalServerErrorException;
 import com.dev.attendo.exception.ResourceNotFoundException;
@@ -10,8 +11,12 @@ import com.dev.attendo.repository.*;
 import com.dev.attendo.service.ActivityLogService;
 import com.dev.attendo.service.LoanService;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.helper.DateRangeUtils;
+import com.dev.attendo.utils.helper.PayrollCalculator;
+import com.dev.attendo.utils.helper.RetryOnOptimisticLock;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,15 +35,9 @@ public class LoanServiceImpl implements LoanService {
     @Autowired
     LoanRepository loanRepository;
 
-    @Autowired
-    AttendanceRepository attendanceRepository;
-
     @Autowired
     UserRepository userRepository;
 
-    @Autowired
-    SalaryRepository salaryRepository;
-
     @Autowired
     StoreRepository storeRepository;
 
@@ -48,6 +47,9 @@ public class LoanServiceImpl implements LoanService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    PayrollCalculator payrollCalculator;
+
     @Override
     public LoanPagination getAllHistoryLoanByUserAndStoreAndMonthYear(Long userId, Long storeId, int month, int year, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         User selectedUser = userRepository.findById(userId)
@@ -60,7 +62,7 @@ public class LoanServiceImpl implements LoanService {
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Loan> pageLoan = loanRepository.getAllLoanHistoryByUserAndStoreAndMonthYear(selectedUser.getId(), selectedStore.getId(), month, year, pageDetails);
+        Page<Loan> pageLoan = loanRepository.getAllLoanHistoryByUserAndStoreAndPeriod(selectedUser.getId(), selectedStore.getId(), DateRangeUtils.startOfMonth(year, month), DateRangeUtils.startOfNextMonth(year, month), pageDetails);
 
         List<Loan> loanList = pageLoan.getContent();
         List<LoanDTO> loanDTOList = loanList.stream().map(loan -> modelMapper.map(loan, LoanDTO.class)).toList();
@@ -84,24 +86,14 @@ public class LoanServiceImpl implements LoanService {
         User currentUser = userRepository.findByUsernameAndIsActiveTrue(currentLoggedIn)
                 .orElseThrow(() -> new ResourceNotFoundException("User dengan username: " + currentLoggedIn + " tidak ditemukan!"));
 
-        Salary latestSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(selectedUser.getId(), null)
-                .orElseThrow(() -> new ResourceNotFoundException("Data gaji tidak ditemukan!"));
-
         LocalDate currentDate = LocalDate.now();
-        Loan existingLoan = loanRepository.getLoanByUserAndStoreAndDate(selectedUser.getId(), selectedUser.getStore().getId(), currentDate).orElse(null);
+        Loan existingLoan = loanRepository.getLoanByUserAndStoreAndPeriod(selectedUser.getId(), selectedUser.getStore().getId(), DateRangeUtils.startOfDay(currentDate), DateRangeUtils.startOfNextDay(currentDate)).orElse(null);
         if (existingLoan != null) {
             throw new InternalServerErrorException("Aksi penambahan data peminjaman hanya bisa dilakukan sehari sekali!");
         }
 
-        int validAttendancesCount = attendanceRepository.countOnTimeAndLateByYearAndMonth(selectedUser.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int totalOvertimePay = attendanceRepository.getTotalOvertimePayByYearAndMonth(selectedUser.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-        int totalLoan = loanRepository.getTotalLoanByUserAndStoreAndMonthYear(selectedUser.getId(), selectedUser.getStore().getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int totalDeduction = attendanceRepository.getTotalDeductionByYearAndMonth(selectedUser.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int baseSalary = validAttendancesCount * latestSalary.getAmount();
-        int totalSalary = baseSalary - (totalLoan + totalDeduction) + totalOvertimePay;
+        PayrollFigures payroll = payrollCalculator.calculateCurrentMonth(selectedUser.getId(), selectedUser.getStore().getId());
+        int totalSalary = payroll.totalSalary();
 
         if (newLoanAmount > totalSalary) {
             throw new BadRequestException("Aksi tidak bisa dilakukan, gaji yang telah dimiliki: Rp. " + totalSalary);
@@ -124,6 +116,7 @@ public class LoanServiceImpl implements LoanService {
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void updateLoan(Long loanId, String currentLoggedIn, int newLoanAmount) {
@@ -133,19 +126,11 @@ public class LoanServiceImpl implements LoanService {
         User currentUser = userRepository.findByUsernameAndIsActiveTrue(currentLoggedIn)
                 .orElseThrow(() -> new ResourceNotFoundException("User dengan username: " + currentLoggedIn + " tidak ditemukan!"));
 
-        Salary latestSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(selectedLoan.getUser().getId(), null)
-                .orElseThrow(() -> new ResourceNotFoundException("Data gaji tidak ditemukan!"));
-
         LocalDate currentDate = LocalDate.now();
+        PayrollFigures payroll = payrollCalculator.calculateCurrentMonth(selectedLoan.getUser().getId(), selectedLoan.getUser().getStore().getId());
 
-        int validAttendancesCount = attendanceRepository.countOnTimeAndLateByYearAndMonth(selectedLoan.getUser().getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int totalLoan = loanRepository.getTotalLoanByUserAndStoreAndMonthYear(selectedLoan.getUser().getId(), selectedLoan.getUser().getStore().getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int totalDeduction = attendanceRepository.getTotalDeductionByYearAndMonth(selectedLoan.getUser().getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int baseSalary = validAttendancesCount * latestSalary.getAmount();
-        int totalSalary = baseSalary - (totalLoan - selectedLoan.getAmount() + totalDeduction);
+        // Overtime pay is not counted here, only the loan being edited is given back
+        int totalSalary = payroll.baseSalary() - (payroll.totalLoan().intValue() - selectedLoan.getAmount() + payroll.totalDeduction().intValue());
 
         if (newLoanAmount > totalSalary) {
             throw new BadRequestException("Aksi tidak bisa dilakukan, gaji yang telah dimiliki: Rp. " + totalSalary);
@@ -161,6 +146,8 @@ public class LoanServiceImpl implements LoanService {
                 activityLogService.addActivityLog(currentUser, "UPDATE", "Update Peminjaman Uang", "Peminjaman Uang", activityDescription);
             }
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengubah data peminjaman uang!");
         }
@@ -13,8 +13,13 @@ import com.dev.attendo.utils.enums.ApprovalStatusEnum;
 import com.dev.attendo.utils.enums.AttendanceStatusEnum;
 import com.dev.attendo.utils.enums.AttendanceTypeEnum;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.helper.ReportDataChangedEvent;
+import com.dev.attendo.utils.helper.RetryOnOptimisticLock;
+import com.dev.attendo.utils.helper.SalaryIntervalIndex;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -39,7 +44,7 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
     ScheduleRepository scheduleRepository;
 
     @Autowired
-    SalaryRepository salaryRepository;
+    SalaryIntervalIndex salaryIntervalIndex;
 
     @Autowired
     AttendanceRepository attendanceRepository;
@@ -50,6 +55,9 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
     @Override
     public OvertimeDTO getOvertimeApplicationById(Long overtimeId) {
         OvertimeApplication selectedOvertimeApplication = overtimeRepository.findById(overtimeId)
@@ -130,8 +138,7 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
         Schedule selectedSchedule = scheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data jadwal kerja dengan id: " + scheduleId + " tidak ditemukan!"));
 
-        Salary selectedUserSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(selectedUser.getId(), null).orElse(null);
-        int latestSalaryAmount = selectedUserSalary != null ? selectedUserSalary.getAmount() : 0;
+        int latestSalaryAmount = salaryIntervalIndex.findAmount(selectedUser.getId(), null).orElse(0);
         int overtimePay = (int) (selectedUser.getStore().getMultiplierOvertime() * latestSalaryAmount);
 
         try {
@@ -150,6 +157,7 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void updateOvertimeApplication(Long overtimeId, String approverName, String approvalStatus) {
@@ -159,12 +167,12 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
                 .orElseThrow(() -> new ResourceNotFoundException("User dengan username: " + approverName + " tidak ditemukan!"));
         User applicant = selectedOvertimeApplication.getUser();
 
-        Salary currentSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(applicant.getId(), null)
+        int currentSalaryAmount = salaryIntervalIndex.findAmount(applicant.getId(), null)
                 .orElseThrow(() -> new ResourceNotFoundException("Data gaji belum didefinisikan!"));
 
         try {
             if (ApprovalStatusEnum.valueOf(approvalStatus) == ApprovalStatusEnum.APPROVED) {
-                double overtimeSalary = currentSalary.getAmount() * applicant.getStore().getMultiplierOvertime();
+                double overtimeSalary = currentSalaryAmount * applicant.getStore().getMultiplierOvertime();
                 selectedOvertimeApplication.setOvertimePay((int) overtimeSalary);
             }
             selectedOvertimeApplication.setStatus(ApprovalStatusEnum.valueOf(approvalStatus));
@@ -183,6 +191,7 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
             overtimeAttendance.setUser(applicant);
             overtimeAttendance.setStore(applicant.getStore());
             attendanceRepository.save(overtimeAttendance);
+            eventPublisher.publishEvent(new ReportDataChangedEvent(applicant.getStore().getId()));
 
             if (approver.getRole().getName() == RoleEnum.ROLE_ADMIN) {
                 String scheduleTime = selectedOvertimeApplication.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")) + " WIB" + " - " + selectedOvertimeApplication.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")) + " WIB";
@@ -191,11 +200,14 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
                 activityLogService.addActivityLog(approver, "UPDATE", "Update Pengajuan Lembur", "Lembur", activityDescription);
             }
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengubah pengajuan lembur!");
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void deleteOvertimeApplication(Long overtimeId) {
@@ -209,6 +221,8 @@ public class OvertimeApplicationServiceImpl implements OvertimeApplicationServic
         try {
             overtimeRepository.delete(selectedOvertimeApplication);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus pengajuan lembur!");
         }
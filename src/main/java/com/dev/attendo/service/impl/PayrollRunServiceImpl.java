@@ -0,0 +1,161 @@
+package com.dev.attendo.service.impl;
+
+import com.dev.attendo.dtos.salary.EmployeePayrollFigures;
+import com.dev.attendo.dtos.salary.PayrollFigures;
+import com.dev.attendo.dtos.salary.PayrollRunDTO;
+import com.dev.attendo.dtos.salary.PayrollRunPagination;
+import com.dev.attendo.exception.BadRequestException;
+import com.dev.attendo.exception.InternalServerErrorException;
+import com.dev.attendo.exception.ResourceNotFoundException;
+import com.dev.attendo.model.PayrollRun;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.PayrollRunRepository;
+import com.dev.attendo.repository.SalaryRepository;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.repository.UserRepository;
+import com.dev.attendo.service.ActivityLogService;
+import com.dev.attendo.service.PayrollRunService;
+import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.helper.DateRangeUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class PayrollRunServiceImpl implements PayrollRunService {
+
+    // Employees computed and inserted per round trip when a month is closed
+    private static final int CLOSE_BATCH_SIZE = 200;
+
+    @Autowired
+    PayrollRunRepository payrollRunRepository;
+
+    @Autowired
+    SalaryRepository salaryRepository;
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ActivityLogService activityLogService;
+
+    @Override
+    public PayrollRunPagination getPayrollRun(Long storeId, int month, int year, Integer pageNumber, Integer pageSize) {
+        Store selectedStore = storeRepository.findById(storeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Data toko dengan id: " + storeId + " tidak ditemukan!"));
+
+        PageRequest pageDetails = PageRequest.of(pageNumber, pageSize);
+
+        // Closed months are served from the snapshot, open months are computed live
+        if (payrollRunRepository.existsByStoreIdAndPeriodYearAndPeriodMonth(selectedStore.getId(), year, month)) {
+            Page<PayrollRun> pagePayrollRun = payrollRunRepository.findByStoreAndPeriod(selectedStore.getId(), year, month, pageDetails);
+            List<PayrollRunDTO> payrollRunDTOList = pagePayrollRun.getContent().stream().map(payrollRun -> new PayrollRunDTO(
+                    payrollRun.getUser().getId(),
+                    payrollRun.getUser().getUsername(),
+                    payrollRun.getBaseSalary(),
+                    payrollRun.getTotalLoan(),
+                    payrollRun.getTotalDeduction(),
+                    payrollRun.getTotalOvertimePay(),
+                    payrollRun.getTotalSalary()
+            )).toList();
+            return toPagination(pagePayrollRun, payrollRunDTOList, true);
+        }
+
+        Page<EmployeePayrollFigures> pageFigures = getStorePayrollFigures(selectedStore.getId(), month, year, pageDetails);
+        List<PayrollRunDTO> payrollRunDTOList = pageFigures.getContent().stream().map(employee -> {
+            PayrollFigures figures = employee.figures();
+            return new PayrollRunDTO(
+                    employee.userId(),
+                    employee.username(),
+                    figures.baseSalary(),
+                    figures.totalLoan().intValue(),
+                    figures.totalDeduction().intValue(),
+                    figures.totalOvertimePay().intValue(),
+                    figures.totalSalary()
+            );
+        }).toList();
+        return toPagination(pageFigures, payrollRunDTOList, false);
+    }
+
+    @Transactional
+    @Override
+    public void closePayrollRun(Long storeId, String currentLoggedIn, int month, int year) {
+        Store selectedStore = storeRepository.findById(storeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Data toko dengan id: " + storeId + " tidak ditemukan!"));
+
+        User currentUser = userRepository.findByUsernameAndIsActiveTrue(currentLoggedIn)
+                .orElseThrow(() -> new ResourceNotFoundException("User dengan username: " + currentLoggedIn + " tidak ditemukan!"));
+
+        YearMonth period = YearMonth.of(year, month);
+        if (!period.isBefore(YearMonth.now())) {
+            throw new BadRequestException("Penggajian hanya bisa ditutup untuk bulan yang telah berakhir!");
+        }
+
+        if (payrollRunRepository.existsByStoreIdAndPeriodYearAndPeriodMonth(selectedStore.getId(), year, month)) {
+            throw new BadRequestException("Penggajian bulan " + month + "-" + year + " telah ditutup!");
+        }
+
+        try {
+            Page<EmployeePayrollFigures> pageFigures;
+            int pageNumber = 0;
+            do {
+                pageFigures = getStorePayrollFigures(selectedStore.getId(), month, year, PageRequest.of(pageNumber++, CLOSE_BATCH_SIZE));
+
+                List<PayrollRun> payrollRunList = new ArrayList<>();
+                for (EmployeePayrollFigures employee : pageFigures.getContent()) {
+                    PayrollFigures figures = employee.figures();
+
+                    PayrollRun payrollRun = new PayrollRun();
+                    payrollRun.setPeriodYear(year);
+                    payrollRun.setPeriodMonth(month);
+                    payrollRun.setBaseSalary(figures.baseSalary());
+                    payrollRun.setTotalLoan(figures.totalLoan().intValue());
+                    payrollRun.setTotalDeduction(figures.totalDeduction().intValue());
+                    payrollRun.setTotalOvertimePay(figures.totalOvertimePay().intValue());
+                    payrollRun.setTotalSalary(figures.totalSalary());
+                    payrollRun.setUser(userRepository.getReferenceById(employee.userId()));
+                    payrollRun.setStore(selectedStore);
+                    payrollRunList.add(payrollRun);
+                }
+                payrollRunRepository.saveAll(payrollRunList);
+            } while (pageFigures.hasNext());
+
+            if (currentUser.getRole().getName() == RoleEnum.ROLE_ADMIN) {
+                String activityDescription = currentUser.getUsername() + " menutup penggajian toko " + selectedStore.getName() + " untuk bulan " + month + "-" + year;
+                activityLogService.addActivityLog(currentUser, "ADD", "Tutup Penggajian Bulanan", "Penggajian", activityDescription);
+            }
+
+        } catch (Exception e) {
+            throw new InternalServerErrorException("Gagal menutup penggajian bulanan!");
+        }
+    }
+
+    private Page<EmployeePayrollFigures> getStorePayrollFigures(Long storeId, int month, int year, PageRequest pageDetails) {
+        // Same salary version as the per-user monthly summary, the one effective at the end of that month
+        YearMonth period = YearMonth.of(year, month);
+        return salaryRepository.getStorePayrollFigures(storeId, period.atEndOfMonth(), period.atDay(1),
+                DateRangeUtils.startOfMonth(year, month), DateRangeUtils.startOfNextMonth(year, month), pageDetails);
+    }
+
+    private PayrollRunPagination toPagination(Page<?> page, List<PayrollRunDTO> content, boolean closed) {
+        PayrollRunPagination payrollRunPagination = new PayrollRunPagination();
+        payrollRunPagination.setContent(content);
+        payrollRunPagination.setPageNumber(page.getNumber());
+        payrollRunPagination.setPageSize(page.getSize());
+        payrollRunPagination.setTotalElements(page.getTotalElements());
+        payrollRunPagination.setTotalPages(page.getTotalPages());
+        payrollRunPagination.setLastPage(page.isLast());
+        payrollRunPagination.setClosed(closed);
+        return payrollRunPagination;
+    }
+}
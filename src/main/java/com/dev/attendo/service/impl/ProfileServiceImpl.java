@@ -10,8 +10,12 @@ import com.dev.attendo.repository.*;
 import com.dev.attendo.service.ActivityLogService;
 import com.dev.attendo.service.ProfileService;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.storage.PhotoRenditionService;
+import com.dev.attendo.utils.storage.PhotoUploadService;
+import com.dev.attendo.utils.storage.StoredPhoto;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +27,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ProfileServiceImpl implements ProfileService {
@@ -42,6 +47,12 @@ public class ProfileServiceImpl implements ProfileService {
     @Autowired
     ActivityLogService activityLogService;
 
+    @Autowired
+    PhotoRenditionService photoRenditionService;
+
+    @Autowired
+    PhotoUploadService photoUploadService;
+
     @Override
     public ProfileDTO getProfile(Long profileId) {
         Profile selectedProfile = profileRepository.findById(profileId)
@@ -109,8 +120,10 @@ public class ProfileServiceImpl implements ProfileService {
             throw new BadRequestException("Data profile dengan nama: " + newAddedProfile.getName() + " telah tersedia!");
         }
 
+        String profilePictureKey = photoUploadService.store(profilePicture);
+
         try {
-            newAddedProfile.setProfilePicture(profilePicture.getBytes());
+            newAddedProfile.setProfilePictureKey(profilePictureKey);
             profileRepository.save(newAddedProfile);
 
             user.setProfile(newAddedProfile);
@@ -125,13 +138,17 @@ public class ProfileServiceImpl implements ProfileService {
     public void updateProfile(Long profileId, ProfileDTO profileDTO, MultipartFile profilePicture) {
         Profile selectedProfile = profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data profile tidak ditemukan!"));
+
+        String profilePictureKey = photoUploadService.store(profilePicture);
+
         try {
             selectedProfile.setName(profileDTO.getName());
             selectedProfile.setAddress(profileDTO.getAddress());
             selectedProfile.setPhoneNumber(profileDTO.getPhoneNumber());
             selectedProfile.setBirthDate(profileDTO.getBirthDate());
             selectedProfile.setGender(profileDTO.getGender());
-            selectedProfile.setProfilePicture(profilePicture.getBytes());
+            selectedProfile.setProfilePictureKey(profilePictureKey);
+            selectedProfile.setProfilePicture(null);
             selectedProfile.setUpdatedDate(LocalDateTime.now());
             profileRepository.save(selectedProfile);
         } catch (Exception e) {
@@ -140,13 +157,22 @@ public class ProfileServiceImpl implements ProfileService {
     }
 
     @Override
-    public byte[] getProfilePicture(Long profileId) {
+    public StoredPhoto getProfilePicture(Long profileId, Integer size) {
+        PhotoRenditionService.validateSize(size);
+
+        Optional<String> profilePictureKey = profileRepository.findProfilePictureKey(profileId);
+        if (profilePictureKey.isPresent()) {
+            return photoRenditionService.load(profilePictureKey.get(), size);
+        }
+
+        // Fallback for profiles that have not been drained by PhotoMigration yet, these are always served in full size.
         Profile selectedProfile = profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data profile tidak ditemukan!"));
         if (selectedProfile.getProfilePicture() == null) {
             throw new ResourceNotFoundException("Gambar profile tidak ditemukan!");
         }
-        return selectedProfile.getProfilePicture();
+        ByteArrayResource legacyResource = new ByteArrayResource(selectedProfile.getProfilePicture());
+        return new StoredPhoto(null, legacyResource);
     }
 
     @Override
@@ -174,4 +200,3 @@ public class ProfileServiceImpl implements ProfileService {
         }
     }
 }
-
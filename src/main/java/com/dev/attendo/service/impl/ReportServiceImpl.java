@@ -1,10 +1,16 @@
 package com.dev.attendo.service.impl;
 
+import com.dev.attendo.dtos.report.*;
 import com.dev.attendo.exception.ResourceNotFoundException;
 import com.dev.attendo.model.Store;
 import com.dev.attendo.repository.*;
 import com.dev.attendo.service.ReportService;
 import com.dev.attendo.utils.enums.LeaveTypeEnum;
+import com.dev.attendo.utils.enums.ReportTypeEnum;
+import com.dev.attendo.utils.helper.AttendanceSummaryBackfill;
+import com.dev.attendo.utils.helper.DateRangeUtils;
+import com.dev.attendo.utils.helper.ReportExecutor;
+import com.dev.attendo.utils.helper.ReportSliceCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,14 +19,16 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Future;
 
 @Service
 public class ReportServiceImpl implements ReportService {
+    private static final DateTimeFormatter MONTH_LABEL_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
 
     @Autowired
-    AttendanceRepository attendanceRepository;
+    MonthlyAttendanceSummaryRepository monthlyAttendanceSummaryRepository;
 
     @Autowired
     StoreRepository storeRepository;
@@ -31,334 +39,238 @@ public class ReportServiceImpl implements ReportService {
     @Autowired
     OvertimeApplicationRepository overtimeApplicationRepository;
 
+    @Autowired
+    ReportSliceCache reportSliceCache;
+
+    @Autowired
+    ReportExecutor reportExecutor;
+
+    @Autowired
+    AttendanceSummaryBackfill attendanceSummaryBackfill;
+
     @Override
-    public Map<String, Object> getExpensesReport(Long storeId, int period) {
+    public ExpensesReportDTO getExpensesReport(Long storeId, int period) {
         Store selectedStore = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Store with id: " + storeId + " is not found!"));
 
         LocalDate currentDate = LocalDate.now();
         LocalDate startDate = currentDate.minusMonths(period - 1).withDayOfMonth(1);
+        YearMonth startMonth = YearMonth.from(startDate);
+        int monthCount = monthCount(startMonth, currentDate);
+
+        fillUnsummarizedMonths(selectedStore.getId(), startMonth, currentDate);
 
-        // Fetch data from database
-        List<Object[]> result = attendanceRepository.getMonthlyAttendanceCountSummary(selectedStore.getId(), startDate, currentDate);
-
-        // Map and merge value per month-year
-        Map<YearMonth, Integer> monthlyTotals = new HashMap<>();
-        for (Object[] row : result) {
-            int year = ((Number) row[1]).intValue();
-            int month = ((Number) row[2]).intValue();
-            int totalAttendance = row[3] != null ? ((Number) row[3]).intValue() : 0;
-            int totalDeduction = row[4] != null ? ((Number) row[4]).intValue() : 0;
-            int overtimePay = row[5] != null ? ((Number) row[5]).intValue() : 0;
-            int totalOvertime = row[6] != null ? ((Number) row[6]).intValue() : 0;
-            int lastSalary = row[7] != null ? ((Number) row[7]).intValue() : 0;
-
-            int monthlyExpenses = (totalAttendance * lastSalary) + (totalOvertime * overtimePay) - totalDeduction;
-            YearMonth ym = YearMonth.of(year, month);
-            monthlyTotals.merge(ym, monthlyExpenses, Integer::sum);
+        // Fetch data from database, closed months come from the report cache
+        List<ExpenseSummaryRow> result = reportExecutor.execute(() -> reportSliceCache.getMonthlyRows(selectedStore.getId(), ReportTypeEnum.EXPENSES, startDate, currentDate,
+                row -> YearMonth.from(row.periodStart()),
+                fromMonth -> monthlyAttendanceSummaryRepository.getMonthlyAttendanceCountSummary(selectedStore.getId(), fromMonth.atDay(1), currentDate.withDayOfMonth(1))));
+
+        // Sum expenses per month, months without data stay 0
+        long[] monthlyAmounts = new long[monthCount];
+        for (ExpenseSummaryRow row : result) {
+            monthlyAmounts[monthOffset(startMonth, row.periodStart().getYear(), row.periodStart().getMonthValue())] += row.monthlyExpenses();
         }
 
-        // Ensure all month is exists (if not, the data get filled by 0)
-        LocalDate tempDate = startDate;
-        while (!tempDate.isAfter(currentDate)) {
-            monthlyTotals.putIfAbsent(YearMonth.of(tempDate.getYear(), tempDate.getMonthValue()), 0);
-            tempDate = tempDate.plusMonths(1);
+        // Monthly totals in month order for the bar chart, with the total, highest and lowest month of the period
+        String[] monthLabels = monthLabels(startMonth, monthCount);
+        List<MonthlyAmountDTO> monthlyTotals = new ArrayList<>(monthCount);
+        long totalExpenses = 0;
+        int highestIndex = -1;
+        int lowestIndex = -1;
+        for (int i = 0; i < monthCount; i++) {
+            monthlyTotals.add(new MonthlyAmountDTO(monthLabels[i], monthlyAmounts[i]));
+            totalExpenses += monthlyAmounts[i];
+            if (highestIndex < 0 || monthlyAmounts[i] > monthlyAmounts[highestIndex]) {
+                highestIndex = i;
+            }
+            if (lowestIndex < 0 || monthlyAmounts[i] < monthlyAmounts[lowestIndex]) {
+                lowestIndex = i;
+            }
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
-
-        // Sort data by month and add additional key to support bar chart component.
-        List<Map<String, Object>> sortedMonthlyTotals = monthlyTotals.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> {
-                    Map<String, Object> obj = new LinkedHashMap<>();
-                    obj.put("month", entry.getKey().format(formatter));
-                    obj.put("amount", entry.getValue());
-                    return obj;
-                })
-                .collect(Collectors.toList());
-
-        // Count the total of all expenses during the period
-        int totalExpenses = monthlyTotals.values().stream().mapToInt(Integer::intValue).sum();
-
-        // Count average expenses during the period
-        int averageExpenses = totalExpenses / period;
-
-        // Get the highest expenses
-        Optional<Map.Entry<YearMonth, Integer>> highestExpense = monthlyTotals.entrySet().stream()
-                .max(Map.Entry.comparingByValue());
-
-        // Get the lowest expenses
-        Optional<Map.Entry<YearMonth, Integer>> lowestExpense = monthlyTotals.entrySet().stream()
-                .min(Map.Entry.comparingByValue());
-
-        Map<String, Object> summary = new LinkedHashMap<>();
-        summary.put("monthlyTotals", sortedMonthlyTotals);
-        summary.put("totalExpenses", totalExpenses);
-        summary.put("averageExpenses", averageExpenses);
-        summary.put("highestMonth", highestExpense.map(item -> Map.of(
-                "month", item.getKey().format(formatter),
-                "amount", item.getValue()
-        )).orElse(null));
-        summary.put("lowestMonth", lowestExpense.map(item -> Map.of(
-                "month", item.getKey().format(formatter),
-                "amount", item.getValue()
-        )).orElse(null));
-
-        return summary;
+        return new ExpensesReportDTO(
+                monthlyTotals,
+                totalExpenses,
+                totalExpenses / period,
+                highestIndex < 0 ? null : monthlyTotals.get(highestIndex),
+                lowestIndex < 0 ? null : monthlyTotals.get(lowestIndex)
+        );
     }
 
     @Override
-    public Map<String, Object> getFrequentlyLateReport(Long storeId, int period) {
+    public FrequentlyLateReportDTO getFrequentlyLateReport(Long storeId, int period) {
         Store selectedStore = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Store with id: " + storeId + " is not found!"));
 
         LocalDate currentDate = LocalDate.now();
         LocalDate startDate = currentDate.minusMonths(period - 1).withDayOfMonth(1);
-
-        // Fetch data from database
-        List<Object[]> result = attendanceRepository.getLateEmployeesCountSummary(selectedStore.getId(), startDate, currentDate);
-
-        List<Map<String, Object>> employeeStats = new ArrayList<>();
-        Map<String, Long> monthlyLateMapping = new LinkedHashMap<>();
-        int totalLateCount = 0;
-        int totalLateMinutes = 0;
-
-        // Map and merge value -> Late distribution per month in a period
-        for (Object[] row : result) {
-            Long userId = ((Number) row[0]).longValue();
-            int year = ((Number) row[1]).intValue();
-            int month = ((Number) row[2]).intValue();
-            String username = (String) row[3];
-            long lateCount = ((Number) row[4]).longValue();
-            long lateInMinutes = ((Number) row[5]).longValue();
-
-            totalLateCount += (int) lateCount;
-            totalLateMinutes += (int) lateInMinutes;
-
-            Map<String, Object> employee = new LinkedHashMap<>();
-            employee.put("userId", userId);
-            employee.put("username", username);
-            employee.put("lateCount", lateCount);
-            employee.put("lateInMinutes", lateInMinutes);
-            employeeStats.add(employee);
-
-            YearMonth ym = YearMonth.of(year, month);
-            String monthLabel = ym.format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
-            monthlyLateMapping.merge(monthLabel, lateCount, Long::sum);
+        YearMonth startMonth = YearMonth.from(startDate);
+        int monthCount = monthCount(startMonth, currentDate);
+
+        fillUnsummarizedMonths(selectedStore.getId(), startMonth, currentDate);
+
+        // Fetch data from database, closed months come from the report cache
+        List<LateSummaryRow> result = reportExecutor.execute(() -> reportSliceCache.getMonthlyRows(selectedStore.getId(), ReportTypeEnum.FREQUENTLY_LATE, startDate, currentDate,
+                row -> YearMonth.from(row.periodStart()),
+                fromMonth -> monthlyAttendanceSummaryRepository.getLateEmployeesCountSummary(selectedStore.getId(), fromMonth.atDay(1), currentDate.withDayOfMonth(1))));
+
+        // Every row is one employee-month, late counts are also summed per month for the distribution
+        List<LateEmployeeDTO> employeeStats = new ArrayList<>(result.size());
+        long[] monthlyLateCounts = new long[monthCount];
+        long totalLateCount = 0;
+        long totalLateMinutes = 0;
+        for (LateSummaryRow row : result) {
+            totalLateCount += row.lateCount();
+            totalLateMinutes += row.lateMinutes();
+            employeeStats.add(new LateEmployeeDTO(row.userId(), row.username(), row.lateCount(), row.lateMinutes()));
+            monthlyLateCounts[monthOffset(startMonth, row.periodStart().getYear(), row.periodStart().getMonthValue())] += row.lateCount();
         }
 
         // Get Top 5 most late employees
-        List<Map<String, Object>> top5 = employeeStats.stream()
-                .sorted((a, b) -> Long.compare(
-                        (Long) b.get("lateCount"),
-                        (Long) a.get("lateCount")
-                ))
+        List<LateEmployeeDTO> top5 = employeeStats.stream()
+                .sorted(Comparator.comparingLong(LateEmployeeDTO::lateCount).reversed())
                 .limit(5)
                 .toList();
 
-        // Ensure all month is exists (if not, the data get filled by 0)
-        LocalDate tempDate = startDate;
-        while (!tempDate.isAfter(currentDate)) {
-            String label = YearMonth.of(tempDate.getYear(), tempDate.getMonthValue()).format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
-            monthlyLateMapping.putIfAbsent(label, 0L);
-            tempDate = tempDate.plusMonths(1);
+        // Late distribution per month in period (ordered by month)
+        String[] monthLabels = monthLabels(startMonth, monthCount);
+        List<MonthlyCountDTO> monthlyLateDistribution = new ArrayList<>(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            monthlyLateDistribution.add(new MonthlyCountDTO(monthLabels[i], monthlyLateCounts[i]));
         }
 
-        // Sorted Late Distribution per month in period (ordered by month)
-        List<Map<String, Object>> monthlyLateDistribution = monthlyLateMapping.entrySet().stream()
-                .sorted(Comparator.comparing(entry ->
-                        YearMonth.parse(entry.getKey(), DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH))
-                ))
-                .map(entry -> {
-                    Map<String, Object> obj = new LinkedHashMap<>();
-                    obj.put("month", entry.getKey());
-                    obj.put("count", entry.getValue());
-                    return obj;
-                })
-                .toList();
-
-        // Create response summary
-        Map<String, Object> summary = new LinkedHashMap<>();
-        summary.put("totalEmployeesLate", employeeStats.size());
-        summary.put("totalLateCount", totalLateCount);
-        summary.put("totalLateMinutes", totalLateMinutes);
-        summary.put("totalLateHours", BigDecimal.valueOf(totalLateMinutes / 60.0)
-                .setScale(1, RoundingMode.HALF_UP));
-        summary.put("top5LateEmployees", top5);
-        summary.put("monthlyLateDistribution", monthlyLateDistribution);
-
-        return summary;
+        return new FrequentlyLateReportDTO(
+                employeeStats.size(),
+                totalLateCount,
+                totalLateMinutes,
+                BigDecimal.valueOf(totalLateMinutes / 60.0).setScale(1, RoundingMode.HALF_UP),
+                top5,
+                monthlyLateDistribution
+        );
     }
 
     @Override
-    public Map<String, Object> getLeaveVsOvertimeReport(Long storeId, int period) {
+    public LeaveVsOvertimeReportDTO getLeaveVsOvertimeReport(Long storeId, int period) {
         Store selectedStore = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Store with id: " + storeId + " is not found!"));
 
         LocalDate currentDate = LocalDate.now();
         LocalDate startDate = currentDate.minusMonths(period - 1).withDayOfMonth(1);
-
-        // Get data from database
-        List<Object[]> resultLeaveApplication = leaveApplicationRepository.getLeaveOvertimeSummary(
-                selectedStore.getId(), startDate, currentDate);
-
+        YearMonth startMonth = YearMonth.from(startDate);
+        int monthCount = monthCount(startMonth, currentDate);
+        String[] monthLabels = monthLabels(startMonth, monthCount);
+
+        // Leave and overtime data are independent, both are fetched at once and closed months come from the report cache
+        Future<List<LeaveSummaryRow>> leaveQuery = reportExecutor.submit(() -> reportSliceCache.getMonthlyRows(selectedStore.getId(), ReportTypeEnum.LEAVE, startDate, currentDate,
+                row -> YearMonth.of(row.approvedYear(), row.approvedMonth()),
+                fromMonth -> leaveApplicationRepository.getLeaveOvertimeSummary(selectedStore.getId(),
+                        DateRangeUtils.startOfMonth(fromMonth.getYear(), fromMonth.getMonthValue()), DateRangeUtils.startOfNextDay(currentDate))));
+        Future<List<OvertimeSummaryRow>> overtimeQuery = reportExecutor.submit(() -> reportSliceCache.getMonthlyRows(selectedStore.getId(), ReportTypeEnum.OVERTIME, startDate, currentDate,
+                row -> YearMonth.of(row.year(), row.month()),
+                fromMonth -> overtimeApplicationRepository.getOvertimeCountSummary(selectedStore.getId(), fromMonth.atDay(1), currentDate)));
+        reportExecutor.awaitAll(leaveQuery, overtimeQuery);
+        List<LeaveSummaryRow> resultLeaveApplication = leaveQuery.resultNow();
+        List<OvertimeSummaryRow> resultOvertimeApplication = overtimeQuery.resultNow();
+
+        // Leave totals per type, and leave days per month and type indexed by LeaveTypeEnum ordinal
+        LeaveTypeEnum[] leaveTypes = LeaveTypeEnum.values();
+        int[] leaveDaysByType = new int[leaveTypes.length];
+        int[] leaveRequestsByType = new int[leaveTypes.length];
+        int[][] monthlyLeaveDays = new int[monthCount][leaveTypes.length];
         int totalLeaveDaysInPeriod = 0;
         int totalLeaveRequestInPeriod = 0;
-        Map<String, Map<String, Integer>> leaveTotals = new HashMap<>();
-        Map<String, Map<String, Map<String, Integer>>> leaveTotalsByMonth = new LinkedHashMap<>();
-
-        // Map and merge value
-        for (Object[] row : resultLeaveApplication) {
-            int year = ((Number) row[0]).intValue();
-            int month = ((Number) row[1]).intValue();
-            LeaveTypeEnum leaveTypeEnum = (LeaveTypeEnum) row[2];
-            int totalLeaveRequest = row[3] != null ? ((Number) row[3]).intValue() : 0;
-            int totalLeaveDays = row[4] != null ? ((Number) row[4]).intValue() : 0;
-
-            String leaveType = leaveTypeEnum.name();
+        for (LeaveSummaryRow row : resultLeaveApplication) {
+            int type = row.leaveType().ordinal();
+            int totalLeaveRequest = row.totalRequests().intValue();
+            int totalLeaveDays = row.totalLeaveDays().intValue();
+
             totalLeaveDaysInPeriod += totalLeaveDays;
             totalLeaveRequestInPeriod += totalLeaveRequest;
+            leaveDaysByType[type] += totalLeaveDays;
+            leaveRequestsByType[type] += totalLeaveRequest;
 
-            // --
-            leaveTotals.computeIfAbsent(leaveType, key -> new HashMap<>());
-            leaveTotals.get(leaveType).merge("totalRequests", totalLeaveRequest, Integer::sum);
-            leaveTotals.get(leaveType).merge("leaveDays", totalLeaveDays, Integer::sum);
-
-            // --
-            String yearMonth = YearMonth.of(year, month).format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
-            leaveTotalsByMonth.computeIfAbsent(yearMonth, k -> new HashMap<>());
-            leaveTotalsByMonth.get(yearMonth).computeIfAbsent(leaveType, k -> new HashMap<>());
-
-            Map<String, Integer> leaveData = leaveTotalsByMonth.get(yearMonth).get(leaveType);
-            leaveData.merge("totalRequests", totalLeaveRequest, Integer::sum);
-            leaveData.merge("leaveDays", totalLeaveDays, Integer::sum);
-        }
-
-        // Ensure all month is exists (if not, the data get filled by 0)
-        LocalDate tempDate = startDate;
-        while (!tempDate.isAfter(currentDate)) {
-            String key = YearMonth.of(tempDate.getYear(), tempDate.getMonthValue())
-                    .format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
-
-            leaveTotalsByMonth.computeIfAbsent(key, k -> new HashMap<>());
-            for (LeaveTypeEnum type : LeaveTypeEnum.values()) {
-                Map<String, Map<String, Integer>> monthData = leaveTotalsByMonth.get(key);
-                monthData.computeIfAbsent(type.name(), k -> new HashMap<>());
-                Map<String, Integer> typeData = monthData.get(type.name());
-                typeData.putIfAbsent("totalRequests", 0);
-                typeData.putIfAbsent("leaveDays", 0);
+            // Leave is picked by approval date but grouped by start date, one starting outside the period only counts in the totals
+            int offset = monthOffset(startMonth, row.year(), row.month());
+            if (offset >= 0 && offset < monthCount) {
+                monthlyLeaveDays[offset][type] += totalLeaveDays;
             }
-            tempDate = tempDate.plusMonths(1);
         }
 
-        // Sorted Leave Distribution - in Bar Chart (ordered by month)
-        List<Map<String, Object>> leaveDistributionByMonth = leaveTotalsByMonth.entrySet().stream()
-                .sorted(Comparator.comparing(entry -> {
-                    String key = entry.getKey();
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
-                    return YearMonth.parse(key, formatter);
-                }))
-                .map(entry -> {
-                    String month = entry.getKey();
-                    Map<String, Map<String, Integer>> monthData = entry.getValue();
-
-                    Map<String, Object> monthObject = new LinkedHashMap<>();
-                    monthObject.put("month", month);
-
-                    monthData.forEach((type, data) -> {
-                        int leaveDays = data.getOrDefault("leaveDays", 0);
-                        monthObject.put(type, leaveDays);
-                    });
-
-                    return monthObject;
-                })
-                .toList();
-
-        // Create leave response's summary
-        Map<String, Object> summary = new LinkedHashMap<>();
-        summary.put("totalLeaveDaysInPeriod", totalLeaveDaysInPeriod);
-        summary.put("totalLeaveRequestInPeriod", totalLeaveRequestInPeriod);
-        summary.put("leaveDistributionByMonth", leaveDistributionByMonth);
+        // Leave Distribution - in Bar Chart (ordered by month)
+        List<MonthlyLeaveDaysDTO> leaveDistributionByMonth = new ArrayList<>(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            leaveDistributionByMonth.add(new MonthlyLeaveDaysDTO(
+                    monthLabels[i],
+                    monthlyLeaveDays[i][LeaveTypeEnum.SICK.ordinal()],
+                    monthlyLeaveDays[i][LeaveTypeEnum.PERSONAL.ordinal()],
+                    monthlyLeaveDays[i][LeaveTypeEnum.OTHER.ordinal()]
+            ));
+        }
 
         // Leave Distribution - in Pie Chart
-        List<Map<String, Object>> pieDistribution = new ArrayList<>();
-        for (LeaveTypeEnum type : LeaveTypeEnum.values()) {
-            String key = type.name();
-            Map<String, Integer> stats = leaveTotals.getOrDefault(key, Map.of("totalRequests", 0, "leaveDays", 0));
-
+        List<LeaveShareDTO> pieDistribution = new ArrayList<>(leaveTypes.length);
+        for (LeaveTypeEnum leaveType : leaveTypes) {
+            int type = leaveType.ordinal();
             double percentage = 0.0;
             if (totalLeaveDaysInPeriod > 0) {
-                percentage = (stats.get("leaveDays") * 100.0) / totalLeaveDaysInPeriod;
+                percentage = (leaveDaysByType[type] * 100.0) / totalLeaveDaysInPeriod;
             }
-
-            // Pie Chart Distribution
-            Map<String, Object> pieItem = new LinkedHashMap<>();
-            String label = switch (key) {
-                case "SICK" -> "sick";
-                case "PERSONAL" -> "personal";
-                case "OTHER" -> "other";
-                default -> key;
-            };
-
-            pieItem.put("type", label);
-            pieItem.put("leaveDays", stats.get("leaveDays"));
-            pieItem.put("totalRequests", stats.get("totalRequests"));
-            pieItem.put("percentage", Math.round(percentage * 100.0) / 100.0);
-
-            pieDistribution.add(pieItem);
+            pieDistribution.add(new LeaveShareDTO(
+                    leaveType.name().toLowerCase(Locale.ROOT),
+                    leaveDaysByType[type],
+                    leaveRequestsByType[type],
+                    Math.round(percentage * 100.0) / 100.0
+            ));
         }
-        summary.put("pieDistribution", pieDistribution);
-
-
-        // Fetch overtime's data from database
-        List<Object[]> resultOvertimeApplication = overtimeApplicationRepository.getOvertimeCountSummary(
-                selectedStore.getId(), startDate, currentDate);
 
-        Map<String, Integer> overtimeTotalsByMonth = new LinkedHashMap<>();
+        // Overtime days per month, months without data stay 0
+        long[] monthlyOvertimeDays = new long[monthCount];
         int totalOvertimeDaysInPeriod = 0;
+        for (OvertimeSummaryRow row : resultOvertimeApplication) {
+            totalOvertimeDaysInPeriod += row.totalOvertimeDays().intValue();
+            monthlyOvertimeDays[monthOffset(startMonth, row.year(), row.month())] += row.totalOvertimeDays();
+        }
 
-        // Merge value
-        for (Object[] row : resultOvertimeApplication) {
-            int year = ((Number) row[0]).intValue();
-            int month = ((Number) row[1]).intValue();
-            int totalOvertimeDays = row[2] != null ? ((Number) row[2]).intValue() : 0;
+        // Overtime distribution - in Bar Chart (ordered by month)
+        List<MonthlyCountDTO> overtimeDaysDistributionByMonth = new ArrayList<>(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            overtimeDaysDistributionByMonth.add(new MonthlyCountDTO(monthLabels[i], monthlyOvertimeDays[i]));
+        }
 
-            totalOvertimeDaysInPeriod += totalOvertimeDays;
+        return new LeaveVsOvertimeReportDTO(
+                totalLeaveDaysInPeriod,
+                totalLeaveRequestInPeriod,
+                leaveDistributionByMonth,
+                pieDistribution,
+                totalOvertimeDaysInPeriod,
+                overtimeDaysDistributionByMonth
+        );
+    }
 
-            String key = YearMonth.of(year, month).format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
-            overtimeTotalsByMonth.merge(key, totalOvertimeDays, Integer::sum);
+    // Until the startup backfill has finished, months missing from the summary table are summarized from attendances first.
+    // Runs before the report queries, which are read-only.
+    private void fillUnsummarizedMonths(Long storeId, YearMonth startMonth, LocalDate currentDate) {
+        if (!attendanceSummaryBackfill.isCompleted()) {
+            attendanceSummaryBackfill.fillStore(storeId, startMonth, YearMonth.from(currentDate));
         }
+    }
 
-        // Ensure all month is exists (if not, the data get filled by 0)
-        tempDate = startDate;
-        while (!tempDate.isAfter(currentDate)) {
-            String key = YearMonth.of(tempDate.getYear(), tempDate.getMonthValue())
-                    .format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
-            overtimeTotalsByMonth.putIfAbsent(key, 0);
-            tempDate = tempDate.plusMonths(1);
-        }
+    // Number of months from startMonth up to and including the month of currentDate
+    private static int monthCount(YearMonth startMonth, LocalDate currentDate) {
+        return Math.max((int) startMonth.until(YearMonth.from(currentDate), ChronoUnit.MONTHS) + 1, 0);
+    }
+
+    // Position of a year-month in the report's month arrays, 0 being startMonth
+    private static int monthOffset(YearMonth startMonth, int year, int month) {
+        return (year - startMonth.getYear()) * 12 + (month - startMonth.getMonthValue());
+    }
 
-        // Sorted overtime distribution - in Bar Chart (ordered by month)
-        List<Map<String, Object>> overtimeDaysDistributionByMonth = overtimeTotalsByMonth.entrySet().stream()
-                .sorted(Comparator.comparing(entry -> {
-                    String key = entry.getKey();
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
-                    return YearMonth.parse(key, formatter);
-                })).map(entry -> {
-                    String month = entry.getKey();
-                    int count = entry.getValue();
-
-                    Map<String, Object> objectData = new LinkedHashMap<>();
-                    objectData.put("month", month);
-                    objectData.put("count", count);
-                    return objectData;
-                }).toList();
-
-        // Create overtime response's summary
-        summary.put("totalOvertimeDaysInPeriod", totalOvertimeDaysInPeriod);
-        summary.put("overtimeDaysDistributionByMonth", overtimeDaysDistributionByMonth);
-
-        return summary;
+    // "MMMM yyyy" chart labels, formatted once per report instead of per row
+    private static String[] monthLabels(YearMonth startMonth, int monthCount) {
+        String[] labels = new String[monthCount];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = startMonth.plusMonths(i).format(MONTH_LABEL_FORMATTER);
+        }
+        return labels;
     }
 }
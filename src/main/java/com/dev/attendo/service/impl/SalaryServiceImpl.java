@@ -1,5 +1,6 @@
 package com.dev.attendo.service.impl;
 
+import com.dev.attendo.dtos.salary.PayrollFigures;
 import com.dev.attendo.exception.BadRequestException;
 import com.dev.attendo.exception.InternalServerErrorException;
 import com.dev.attendo.exception.ResourceNotFoundException;
@@ -11,6 +12,8 @@ import com.dev.attendo.repository.*;
 import com.dev.attendo.service.ActivityLogService;
 import com.dev.attendo.service.SalaryService;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.helper.PayrollCalculator;
+import com.dev.attendo.utils.helper.SalaryValidityUpdater;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,15 +36,18 @@ public class SalaryServiceImpl implements SalaryService {
     @Autowired
     StoreRepository storeRepository;
 
-    @Autowired
-    AttendanceRepository attendanceRepository;
-
     @Autowired
     LoanRepository loanRepository;
 
     @Autowired
     ActivityLogService activityLogService;
 
+    @Autowired
+    PayrollCalculator payrollCalculator;
+
+    @Autowired
+    SalaryValidityUpdater salaryValidityUpdater;
+
     @Override
     public Salary getLatestActiveSalary(Long userId) {
         User selectedUser = userRepository.findById(userId)
@@ -68,19 +74,8 @@ public class SalaryServiceImpl implements SalaryService {
             currentAddedLoan = selectedLoan.getAmount();
         }
 
-        Salary latestSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(selectedUser.getId(), null)
-                .orElseThrow(() -> new ResourceNotFoundException("Data gaji tidak ditemukan!"));
-
-        LocalDate currentDate = LocalDate.now();
-        int validAttendancesCount = attendanceRepository.countOnTimeAndLateByYearAndMonth(selectedUser.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int totalOvertimePay = attendanceRepository.getTotalOvertimePayByYearAndMonth(selectedUser.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-        int totalLoan = loanRepository.getTotalLoanByUserAndStoreAndMonthYear(selectedUser.getId(), selectedStore.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-
-        int totalDeduction = attendanceRepository.getTotalDeductionByYearAndMonth(selectedUser.getId(), currentDate.getMonthValue(), currentDate.getYear()).orElse(0);
-        int baseSalary = validAttendancesCount * latestSalary.getAmount();
-
-        return baseSalary - (totalLoan + totalDeduction) + currentAddedLoan + totalOvertimePay;
+        PayrollFigures payroll = payrollCalculator.calculateCurrentMonth(selectedUser.getId(), selectedStore.getId());
+        return payroll.totalSalary() + currentAddedLoan;
     }
 
     @Override
@@ -93,26 +88,14 @@ public class SalaryServiceImpl implements SalaryService {
 
         // Get used salary version in that month and year (Perhaps not latest)
         LocalDate targetDate = YearMonth.of(year, month).atEndOfMonth();
-        Salary latestSalary = salaryRepository.findLatestActiveSalaryByUserAndOptionalDate(selectedUser.getId(), targetDate)
-                .orElseThrow(() -> new ResourceNotFoundException("Data gaji tidak ditemukan!"));
-
-        int totalOvertimePay = attendanceRepository.getTotalOvertimePayByYearAndMonth(selectedUser.getId(), month, year).orElse(0);
-
-        int validAttendancesCount = attendanceRepository.countOnTimeAndLateByYearAndMonth(selectedUser.getId(), month, year).orElse(0);
-
-        int totalLoan = loanRepository.getTotalLoanByUserAndStoreAndMonthYear(selectedUser.getId(), selectedStore.getId(), month, year).orElse(0);
-
-        int totalDeduction = attendanceRepository.getTotalDeductionByYearAndMonth(selectedUser.getId(), month, year).orElse(0);
-        int baseSalary = validAttendancesCount * latestSalary.getAmount();
-
-        int totalSalary = baseSalary - (totalLoan + totalDeduction) + totalOvertimePay;
+        PayrollFigures payroll = payrollCalculator.calculate(selectedUser.getId(), selectedStore.getId(), targetDate, year, month);
 
         Map<String, Integer> summary = new HashMap<>();
-        summary.put("baseSalary", baseSalary);
-        summary.put("totalLoan", totalLoan);
-        summary.put("totalDeduction", totalDeduction);
-        summary.put("totalOvertimePay", totalOvertimePay);
-        summary.put("totalSalary", totalSalary);
+        summary.put("baseSalary", payroll.baseSalary());
+        summary.put("totalLoan", payroll.totalLoan().intValue());
+        summary.put("totalDeduction", payroll.totalDeduction().intValue());
+        summary.put("totalOvertimePay", payroll.totalOvertimePay().intValue());
+        summary.put("totalSalary", payroll.totalSalary());
 
         return summary;
     }
@@ -137,6 +120,7 @@ public class SalaryServiceImpl implements SalaryService {
             newSalary.setUser(selectedUser);
             newSalary.setStore(selectedUser.getStore());
             salaryRepository.save(newSalary);
+            salaryValidityUpdater.recompute(selectedUser.getId());
 
             if (currentUser.getRole().getName() == RoleEnum.ROLE_ADMIN) {
                 String activityDescription = currentUser.getUsername() + " menambahkan data gaji baru dengan jumlah sebesar Rp. " + amount + " dan dengan tanggal berlaku pada " + Month.of(targetMonth).name().toLowerCase() + " " + targetYear;
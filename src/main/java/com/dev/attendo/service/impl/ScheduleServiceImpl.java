@@ -4,7 +4,6 @@ import com.dev.attendo.dtos.schedule.ScheduleDTO;
 import com.dev.attendo.exception.BadRequestException;
 import com.dev.attendo.exception.InternalServerErrorException;
 import com.dev.attendo.exception.ResourceNotFoundException;
-import com.dev.attendo.model.Profile;
 import com.dev.attendo.model.Store;
 import com.dev.attendo.model.Schedule;
 import com.dev.attendo.model.User;
@@ -15,6 +14,7 @@ import com.dev.attendo.repository.UserRepository;
 import com.dev.attendo.service.ActivityLogService;
 import com.dev.attendo.service.ScheduleService;
 import com.dev.attendo.utils.enums.RoleEnum;
+import com.dev.attendo.utils.helper.BulkMutationHelper;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -44,6 +44,9 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    BulkMutationHelper bulkMutationHelper;
+
     @Override
     public List<ScheduleDTO> getAllSchedule(Long storeId) {
         Store store = storeRepository.findById(storeId)
@@ -104,18 +107,16 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
     }
 
+    @Transactional
     @Override
     public void deleteSchedule(Long scheduleId) {
         Schedule selectedSchedule = scheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data jadwal kerja dengan id: " + scheduleId + " tidak ditemukan!"));
 
-        List<Profile> profileList = profileRepository.findAllProfileByStoreAndScheduleAndIsActive(selectedSchedule.getStore().getId(), selectedSchedule.getId(), true);
         try {
-            for (Profile profile : profileList) {
-                profile.setSchedule(null);
-            }
-            profileRepository.saveAll(profileList);
-            scheduleRepository.delete(selectedSchedule);
+            // Every profile still pointing at the schedule, inactive users included, otherwise the delete breaks their foreign key
+            bulkMutationHelper.execute(() -> profileRepository.clearSchedule(selectedSchedule.getId(), LocalDateTime.now()));
+            scheduleRepository.deleteById(selectedSchedule.getId());
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus data jadwal kerja!");
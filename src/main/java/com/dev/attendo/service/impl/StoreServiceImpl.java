@@ -1,15 +1,23 @@
 package com.dev.attendo.service.impl;
 
 import com.dev.attendo.dtos.toko.StoreDTO;
+import com.dev.attendo.dtos.user.UserIdentity;
 import com.dev.attendo.exception.InternalServerErrorException;
 import com.dev.attendo.exception.ResourceNotFoundException;
 import com.dev.attendo.model.Store;
 import com.dev.attendo.model.User;
+import com.dev.attendo.repository.ProfileRepository;
 import com.dev.attendo.repository.StoreRepository;
 import com.dev.attendo.repository.UserRepository;
+import com.dev.attendo.security.service.UserChangedEvent;
 import com.dev.attendo.service.StoreService;
+import com.dev.attendo.utils.helper.BreakSlotAdmission;
+import com.dev.attendo.utils.helper.BulkMutationHelper;
+import com.dev.attendo.utils.helper.RetryOnOptimisticLock;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +36,18 @@ public class StoreServiceImpl implements StoreService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    ProfileRepository profileRepository;
+
+    @Autowired
+    BulkMutationHelper bulkMutationHelper;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    BreakSlotAdmission breakSlotAdmission;
+
     @Override
     public StoreDTO getStore(Long storeId) {
         Store store = storeRepository.findById(storeId)
@@ -51,6 +71,7 @@ public class StoreServiceImpl implements StoreService {
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void updateStore(Long storeId, StoreDTO storeDTO) {
@@ -66,37 +87,54 @@ public class StoreServiceImpl implements StoreService {
             selectedStore.setBreakDuration(storeDTO.getBreakDuration());
             selectedStore.setUpdatedDate(LocalDateTime.now());
             selectedStore.setMaxBreakCount(storeDTO.getMaxBreakCount());
-            selectedStore.setCurrentBreakCount(storeDTO.getCurrentBreakCount());
             storeRepository.save(selectedStore);
 
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengubah data toko!");
         }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     @Override
     public void storeActivation(Long storeId) {
         Store selectedStore = storeRepository.findById(storeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Data toko tidak ditemukan!"));
-        List<User> associatedUser = userRepository.findAllByStoreIdAndIsActive(selectedStore.getId(), true);
+        List<UserIdentity> associatedUsers = userRepository.findIdentitiesByStoreIdAndIsActive(selectedStore.getId(), true);
 
         try {
-            if (!associatedUser.isEmpty()) {
-                for (User employee : associatedUser) {
-                    employee.setStore(null);
-                    employee.getProfile().setSchedule(null);
-                }
-                userRepository.saveAll(associatedUser);
-            }
             selectedStore.setActive(!selectedStore.isActive());
             storeRepository.save(selectedStore);
 
+            if (!associatedUsers.isEmpty()) {
+                // Profiles first, their subquery still needs the users attached to the store
+                LocalDateTime now = LocalDateTime.now();
+                bulkMutationHelper.execute(() -> profileRepository.clearScheduleByStoreIdAndIsActive(storeId, true, now));
+                bulkMutationHelper.execute(() -> userRepository.detachFromStore(storeId, true, now));
+                for (UserIdentity employee : associatedUsers) {
+                    eventPublisher.publishEvent(new UserChangedEvent(employee.id(), employee.username()));
+                }
+            }
+
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus data toko!");
         }
     }
 
+    // Owner action for a store stuck at maxBreakCount, recounts the slots from today's open breaks
+    @Transactional
+    @Override
+    public void reconcileBreakCount(Long storeId) {
+        if (!storeRepository.existsById(storeId)) {
+            throw new ResourceNotFoundException("Data toko tidak ditemukan!");
+        }
+        breakSlotAdmission.reconcile(storeId);
+    }
+
     @Override
     public List<StoreDTO> getAllOwnedStore(String username) {
         User owner = userRepository.findByUsernameAndIsActiveTrue(username)
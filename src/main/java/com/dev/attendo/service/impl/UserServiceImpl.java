@@ -12,13 +12,16 @@ import com.dev.attendo.security.request.ChangePasswordRequest;
 import com.dev.attendo.security.request.SignInRequest;
 import com.dev.attendo.security.request.SignUpRequest;
 import com.dev.attendo.security.response.SignInResponse;
+import com.dev.attendo.security.service.UserChangedEvent;
 import com.dev.attendo.service.ActivityLogService;
 import com.dev.attendo.service.UserService;
 import com.dev.attendo.utils.enums.RoleEnum;
 import com.dev.attendo.utils.enums.TokenTypeEnum;
 import com.dev.attendo.utils.helper.EmailService;
+import com.dev.attendo.utils.helper.SalaryValidityUpdater;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -76,6 +79,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     ModelMapper modelMapper;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    SalaryValidityUpdater salaryValidityUpdater;
+
     @Transactional
     @Override
     public SignInResponse signIn(SignInRequest request) {
@@ -142,6 +151,7 @@ public class UserServiceImpl implements UserService {
                 selectedUser.setUpdatedDate(LocalDateTime.now());
             }
             userRepository.save(selectedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(selectedUser.getId(), selectedUser.getUsername()));
 
             String token = UUID.randomUUID().toString();
             Instant expireDate = Instant.now().plus(30, ChronoUnit.MINUTES);
@@ -150,8 +160,11 @@ public class UserServiceImpl implements UserService {
             tokenRepository.save(emailVerificationToken);
 
             String emailVerificationUrl = frontendUrl + "/email-verification?token=" + token;
-            String content = "We received a request to activate your account. Click the button below to set a new one:";
-            emailService.sendPasswordResetEmail(selectedUser.getEmail(), emailVerificationUrl, "Email Verification", emailVerificationToken.getUser().getUsername(), content, "Verify Email", "30 minutes");
+            emailService.queueActionEmail(TokenTypeEnum.EMAIL_VERIFICATION, selectedUser.getEmail(), Map.of(
+                    "username", emailVerificationToken.getUser().getUsername(),
+                    "actionUrl", emailVerificationUrl,
+                    "expiredMinutes", "30"
+            ));
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal melakukan sign up!");
@@ -172,8 +185,11 @@ public class UserServiceImpl implements UserService {
             tokenRepository.save(resetToken);
 
             String resetPasswordUrl = frontendUrl + "/reset-password?token=" + token;
-            String content = "We received a request to reset your password. Click the button below to set a new one:";
-            emailService.sendPasswordResetEmail(selectedUser.getEmail(), resetPasswordUrl, "Password Reset Request", resetToken.getUser().getUsername(), content, "Reset Password", "30 minutes");
+            emailService.queueActionEmail(TokenTypeEnum.RESET_PASSWORD, selectedUser.getEmail(), Map.of(
+                    "username", resetToken.getUser().getUsername(),
+                    "actionUrl", resetPasswordUrl,
+                    "expiredMinutes", "30"
+            ));
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengirimkan email!");
@@ -197,6 +213,7 @@ public class UserServiceImpl implements UserService {
             User selectedUser = selectedResetToken.getUser();
             selectedUser.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(selectedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(selectedUser.getId(), selectedUser.getUsername()));
 
             selectedResetToken.setUsed(true);
             tokenRepository.save(selectedResetToken);
@@ -234,6 +251,7 @@ public class UserServiceImpl implements UserService {
         try {
             selectedUser.setStore(selectedStore);
             userRepository.save(selectedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(selectedUser.getId(), selectedUser.getUsername()));
 
             Salary newSalary = new Salary();
             newSalary.setAmount(salaryAmount);
@@ -241,6 +259,7 @@ public class UserServiceImpl implements UserService {
             newSalary.setUser(selectedUser);
             newSalary.setStore(selectedStore);
             salaryRepository.save(newSalary);
+            salaryValidityUpdater.recompute(selectedUser.getId());
 
             if (loggedInUser.getRole().getName() == RoleEnum.ROLE_ADMIN) {
                 String activityDescription = "Menambahkan data karyawan baru dengan username: " + username + " ke dalam toko: " + selectedStore.getName() + " dengan jumlah gaji sebesar Rp." + salaryAmount;
@@ -266,6 +285,7 @@ public class UserServiceImpl implements UserService {
             user.setRole(role);
             user.setUpdatedDate(LocalDateTime.now());
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus data karyawan!");
@@ -288,6 +308,7 @@ public class UserServiceImpl implements UserService {
                 user.setRole(employeeRole);
             }
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengubah hak akses karyawan!");
@@ -316,6 +337,7 @@ public class UserServiceImpl implements UserService {
         }
         selectedUser.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(selectedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(selectedUser.getId(), selectedUser.getUsername()));
     }
 
     @Transactional
@@ -333,6 +355,7 @@ public class UserServiceImpl implements UserService {
             selectedUser.setEmail(selectedUser.getEmail().trim() + "-" + uniqueCode);
             selectedUser.setActive(!selectedUser.isActive());
             userRepository.save(selectedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(selectedUser.getId(), username));
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal menghapus akun karyawan!");
@@ -364,6 +387,7 @@ public class UserServiceImpl implements UserService {
                 selectedUser.setEmail(emailVerifyToken.getNewEmail());
             }
             userRepository.save(selectedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(selectedUser.getId(), selectedUser.getUsername()));
 
             emailVerifyToken.setUsed(true);
             tokenRepository.save(emailVerifyToken);
@@ -397,8 +421,12 @@ public class UserServiceImpl implements UserService {
             tokenRepository.save(changeEmailToken);
 
             String changeEmailUrl = frontendUrl + "/verify-email-change?token=" + token;
-            String content = "We received a request to change your account's email to " + request.getNewEmail() + ". Click the button below to set a change your account's email:";
-            emailService.sendPasswordResetEmail(request.getNewEmail(), changeEmailUrl, "Change Email Request", changeEmailToken.getUser().getUsername(), content, "Change Email", "30 minutes");
+            emailService.queueActionEmail(TokenTypeEnum.EMAIL_CHANGE, request.getNewEmail(), Map.of(
+                    "username", changeEmailToken.getUser().getUsername(),
+                    "actionUrl", changeEmailUrl,
+                    "newEmail", request.getNewEmail(),
+                    "expiredMinutes", "30"
+            ));
 
         } catch (Exception e) {
             throw new InternalServerErrorException("Gagal mengirimkan email!");
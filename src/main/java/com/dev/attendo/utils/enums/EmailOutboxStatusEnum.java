@@ -0,0 +1,7 @@
+package com.dev.attendo.utils.enums;
+
+public enum EmailOutboxStatusEnum {
+    PENDING,
+    SENT,
+    FAILED
+}
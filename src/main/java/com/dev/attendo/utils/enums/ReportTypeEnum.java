@@ -0,0 +1,8 @@
+package com.dev.attendo.utils.enums;
+
+public enum ReportTypeEnum {
+    EXPENSES,
+    FREQUENTLY_LATE,
+    LEAVE,
+    OVERTIME
+}
@@ -1,16 +1,100 @@
 package com.dev.attendo.utils.helper;
 
+import com.dev.attendo.security.service.UserAuthStateCache;
+import com.dev.attendo.security.service.UserDetailsServiceImpl;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
+@EnableCaching
 public class AdditionalConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AdditionalConfig.class);
 
     @Bean
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
+
+    // Hands the id block pool to PooledTableIdGenerator, which Hibernate creates outside the Spring context
+    @Bean
+    public HibernatePropertiesCustomizer idBlockConnectionPoolCustomizer(IdBlockConnectionPool idBlockConnectionPool) {
+        return properties -> properties.put(PooledTableIdGenerator.CONNECTION_POOL_SETTING, idBlockConnectionPool);
+    }
+
+    // Caches with their own size and TTL, all recording stats so hit/miss/eviction counts are exported through Micrometer.
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> cacheManagerCustomizer(
+            @Value("${spring.app.userDetailsCacheSize}") long userDetailsCacheSize,
+            @Value("${spring.app.userDetailsCacheTtlMs}") long userDetailsCacheTtlMs,
+            @Value("${spring.app.authStateCacheTtlMs}") long authStateCacheTtlMs,
+            @Value("${spring.app.salaryIntervalCacheTtlMs}") long salaryIntervalCacheTtlMs,
+            @Value("${spring.app.reportCacheSize}") long reportCacheSize
+    ) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(UserDetailsServiceImpl.CACHE_NAME, Caffeine.newBuilder()
+                    .maximumSize(userDetailsCacheSize)
+                    .expireAfterWrite(Duration.ofMillis(userDetailsCacheTtlMs))
+                    .recordStats()
+                    .build());
+            cacheManager.registerCustomCache(UserAuthStateCache.CACHE_NAME, Caffeine.newBuilder()
+                    .maximumSize(userDetailsCacheSize)
+                    .expireAfterWrite(Duration.ofMillis(authStateCacheTtlMs))
+                    .recordStats()
+                    .build());
+            cacheManager.registerCustomCache(SalaryIntervalIndex.CACHE_NAME, Caffeine.newBuilder()
+                    .maximumSize(userDetailsCacheSize)
+                    .expireAfterWrite(Duration.ofMillis(salaryIntervalCacheTtlMs))
+                    .recordStats()
+                    .build());
+            // No TTL, closed months only leave on write-driven eviction or when the size bound is hit
+            cacheManager.registerCustomCache(ReportSliceCache.CACHE_NAME, Caffeine.newBuilder()
+                    .maximumSize(reportCacheSize)
+                    .recordStats()
+                    .build());
+        };
+    }
+
+    // Bounded so a burst of uploads can not pile up decoded images in heap; overflow is dropped and the original is served instead.
+    @Bean
+    public TaskExecutor photoRenditionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("photo-rendition-");
+        executor.setRejectedExecutionHandler((task, pool) -> logger.warn("Photo rendition queue is full, task discarded"));
+        executor.initialize();
+        return executor;
+    }
+
+    // Report queries get their own small pool, its size is the number of connections reports may hold at once.
+    // Only its workers run report queries. A query that finds the pool and its short queue full is rejected, and
+    // ReportExecutor fails that report fast instead of running the query on the request thread.
+    @Bean
+    public ThreadPoolTaskExecutor reportQueryExecutor(@Value("${spring.app.reportQueryConcurrency}") int reportQueryConcurrency,
+                                                      @Value("${spring.app.reportQueueCapacity}") int reportQueueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reportQueryConcurrency);
+        executor.setMaxPoolSize(reportQueryConcurrency);
+        executor.setQueueCapacity(reportQueueCapacity);
+        executor.setThreadNamePrefix("report-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
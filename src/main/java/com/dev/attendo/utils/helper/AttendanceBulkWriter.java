@@ -0,0 +1,25 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.repository.AttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Inserts many new attendances at once. Ids come from the pooled table generator without a round trip per row,
+// so the INSERTs are sent as JDBC batches of hibernate.jdbc.batch_size when flushed here.
+@Component
+public class AttendanceBulkWriter {
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Transactional
+    public List<Attendance> insertAll(List<Attendance> attendances) {
+        List<Attendance> savedAttendances = attendanceRepository.saveAll(attendances);
+        attendanceRepository.flush();
+        return savedAttendances;
+    }
+}
@@ -0,0 +1,85 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.DataBackfill;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.repository.DataBackfillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+// Fills monthly_attendance_summary from existing attendances on the first startup after the table is deployed,
+// one key per transaction so it can run while the app serves traffic. Every key is recomputed from its attendances,
+// so a run cut short is simply repeated on the next startup; a data_backfill row marks the table complete.
+// Until then reports call fillStore, which summarizes the requested months from the live attendances first.
+@Component
+public class AttendanceSummaryBackfill implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceSummaryBackfill.class);
+
+    static final String NAME = "monthly_attendance_summary";
+
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private DataBackfillRepository dataBackfillRepository;
+
+    @Autowired
+    private AttendanceSummaryUpdater attendanceSummaryUpdater;
+
+    private volatile boolean completed;
+
+    @Override
+    public void run(String... args) {
+        if (dataBackfillRepository.existsById(NAME)) {
+            completed = true;
+            return;
+        }
+
+        // Paged by user id rather than offset, attendances written meanwhile can not shift a page over unvisited keys
+        int refreshedCount = 0;
+        long lastUserId = 0;
+        List<Long> userIds = attendanceRepository.findUserIdsWithAttendances(lastUserId, PageRequest.of(0, BATCH_SIZE));
+        while (!userIds.isEmpty()) {
+            for (Long userId : userIds) {
+                for (Object[] key : attendanceRepository.findMonthlySummaryKeysByUser(userId)) {
+                    attendanceSummaryUpdater.refresh(userId, ((Number) key[0]).longValue(), YearMonth.of(((Number) key[1]).intValue(), ((Number) key[2]).intValue()));
+                    refreshedCount++;
+                }
+            }
+            lastUserId = userIds.get(userIds.size() - 1);
+            userIds = attendanceRepository.findUserIdsWithAttendances(lastUserId, PageRequest.of(0, BATCH_SIZE));
+        }
+
+        try {
+            dataBackfillRepository.save(new DataBackfill(NAME, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance finished the same backfill first
+        }
+        completed = true;
+        logger.info("Attendance summary backfill finished, {} monthly rows refreshed", refreshedCount);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    // Summarizes the store's months from startMonth to endMonth that have attendances but no summary row yet
+    public void fillStore(Long storeId, YearMonth startMonth, YearMonth endMonth) {
+        List<Object[]> keys = attendanceRepository.findUnsummarizedKeysByStore(storeId,
+                DateRangeUtils.startOfMonth(startMonth.getYear(), startMonth.getMonthValue()),
+                DateRangeUtils.startOfNextMonth(endMonth.getYear(), endMonth.getMonthValue()));
+        for (Object[] key : keys) {
+            attendanceSummaryUpdater.refresh(((Number) key[0]).longValue(), storeId, YearMonth.of(((Number) key[1]).intValue(), ((Number) key[2]).intValue()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.dtos.attendance.MonthlyAttendanceFigures;
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.MonthlyAttendanceSummary;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.repository.MonthlyAttendanceSummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Component
+public class AttendanceSummaryUpdater {
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    MonthlyAttendanceSummaryRepository monthlyAttendanceSummaryRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // Called after an attendance write, inside the same transaction, so the summary commits or rolls back with it.
+    @Transactional
+    public void refresh(Attendance attendance) {
+        if (attendance.getClockIn() == null || attendance.getStore() == null) {
+            return;
+        }
+        refresh(attendance.getUser().getId(), attendance.getStore().getId(), YearMonth.from(attendance.getClockIn()));
+    }
+
+    // Recomputes only the affected (store, user, month) row from that user's attendances of the month,
+    // which stays cheap and cannot drift the way applying +/- deltas could.
+    @Transactional
+    public void refresh(Long userId, Long storeId, YearMonth period) {
+        LocalDateTime startDate = DateRangeUtils.startOfMonth(period.getYear(), period.getMonthValue());
+        LocalDateTime endDate = DateRangeUtils.startOfNextMonth(period.getYear(), period.getMonthValue());
+        MonthlyAttendanceFigures figures = attendanceRepository.getMonthlyAttendanceFigures(userId, storeId, startDate, endDate);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(storeId));
+
+        MonthlyAttendanceSummary summary = monthlyAttendanceSummaryRepository.findByStoreIdAndUserIdAndPeriodStart(storeId, userId, period.atDay(1))
+                .orElse(null);
+        if (summary == null) {
+            if (figures.isEmpty()) {
+                return;
+            }
+            // A missing row may be inserted by the backfill or another attendance write at the same time, see upsert
+            monthlyAttendanceSummaryRepository.upsert(nextSummaryId(), storeId, userId, period.atDay(1),
+                    figures.presentCount().intValue(), figures.lateCount().intValue(), figures.lateMinutes().intValue(),
+                    figures.totalDeduction().intValue(), figures.overtimeCount().intValue(), figures.overtimePay().intValue(),
+                    LocalDateTime.now());
+            return;
+        }
+
+        summary.setPresentCount(figures.presentCount().intValue());
+        summary.setLateCount(figures.lateCount().intValue());
+        summary.setLateMinutes(figures.lateMinutes().intValue());
+        summary.setTotalDeduction(figures.totalDeduction().intValue());
+        summary.setOvertimeCount(figures.overtimeCount().intValue());
+        summary.setOvertimePay(figures.overtimePay().intValue());
+        monthlyAttendanceSummaryRepository.save(summary);
+    }
+
+    // The native upsert bypasses persist, so the id is taken from the entity's own generator
+    private Long nextSummaryId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(MonthlyAttendanceSummary.class);
+        return (Long) ((PooledTableIdGenerator) persister.getGenerator()).generate(session, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.repository.StoreRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+// Admission control for Store.currentBreakCount. Slots are taken and given back with conditional UPDATEs inside
+// the caller's transaction, so a failed break-in or break-out rolls its slot change back with it.
+// The loaded Store entity keeps its old count afterwards and must not be saved by the caller.
+@Component
+public class BreakSlotAdmission {
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    // false when the store has no free break slot
+    @Transactional
+    public boolean tryAcquire(Long storeId) {
+        return storeRepository.acquireBreakSlot(storeId) == 1;
+    }
+
+    // Never drops below 0, even when a slot is released twice
+    @Transactional
+    public void release(Long storeId) {
+        storeRepository.releaseBreakSlot(storeId);
+    }
+
+    // Recounts the slots from today's open breaks, for one store or every store when storeId is null. Gives back
+    // slots leaked by a break-in whose break-out never ran, e.g. after a crash. Returns the number of stores fixed.
+    @Transactional
+    public int reconcile(Long storeId) {
+        return storeRepository.reconcileBreakSlots(storeId, DateRangeUtils.startOfDay(LocalDate.now()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.dev.attendo.utils.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Runs BreakSlotAdmission.reconcile for every store on startup and at midnight, so a slot leaked by a crash is given
+// back after a restart, and a break left open on an earlier day stops holding its slot when the day changes.
+@Component
+public class BreakSlotReconciler implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BreakSlotReconciler.class);
+
+    @Autowired
+    private BreakSlotAdmission breakSlotAdmission;
+
+    @Override
+    public void run(String... args) {
+        reconcileAll();
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void reconcileAll() {
+        int reconciledStoreCount = breakSlotAdmission.reconcile(null);
+        if (reconciledStoreCount > 0) {
+            logger.info("Break slot counts reconciled for {} stores", reconciledStoreCount);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dev.attendo.utils.helper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.IntSupplier;
+
+// Runs set-based @Modifying UPDATE/DELETE queries, which go straight to the database and skip the persistence context.
+// Pending changes are flushed first so the statement sees them, and the context is cleared afterwards so no stale
+// entity overwrites the bulk result on the next flush. Entities loaded before the call are detached after it.
+// Bulk statements also skip @UpdateTimestamp and @Version, set those in the query where they matter.
+@Component
+public class BulkMutationHelper {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int execute(IntSupplier mutation) {
+        entityManager.flush();
+        int affectedRows = mutation.getAsInt();
+        entityManager.clear();
+        return affectedRows;
+    }
+}
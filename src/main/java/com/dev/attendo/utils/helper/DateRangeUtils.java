@@ -0,0 +1,26 @@
+package com.dev.attendo.utils.helper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+// Bounds for half-open [start, end) ranges. Queries compare the raw column against them instead of wrapping it
+// in DATE()/YEAR()/MONTH(), so indexes on the date column can be used.
+public class DateRangeUtils {
+
+    public static LocalDateTime startOfDay(LocalDate date) {
+        return date == null ? null : date.atStartOfDay();
+    }
+
+    public static LocalDateTime startOfNextDay(LocalDate date) {
+        return date == null ? null : date.plusDays(1).atStartOfDay();
+    }
+
+    public static LocalDateTime startOfMonth(int year, int month) {
+        return YearMonth.of(year, month).atDay(1).atStartOfDay();
+    }
+
+    public static LocalDateTime startOfNextMonth(int year, int month) {
+        return YearMonth.of(year, month).plusMonths(1).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,135 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.EmailOutbox;
+import com.dev.attendo.repository.EmailOutboxRepository;
+import com.dev.attendo.utils.enums.EmailOutboxStatusEnum;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Component
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${spring.app.emailDispatchBatchSize}")
+    private int batchSize;
+
+    @Value("${spring.app.emailMaxAttempts}")
+    private int maxAttempts;
+
+    @Value("${spring.app.emailRetryBackoffMs}")
+    private long retryBackoffMs;
+
+    @Value("${spring.app.emailClaimLeaseMs}")
+    private long claimLeaseMs;
+
+    @Scheduled(initialDelayString = "${spring.app.emailDispatchIntervalMs}", fixedDelayString = "${spring.app.emailDispatchIntervalMs}")
+    public void dispatchDueEmails() {
+        List<EmailOutbox> dueEmails;
+        do {
+            dueEmails = claimDueEmails();
+            if (!dueEmails.isEmpty()) {
+                dispatch(dueEmails);
+            }
+        } while (dueEmails.size() == batchSize);
+    }
+
+    // Claimed emails get their next attempt pushed out by the lease before the row locks are released, so other
+    // instances skip them while this one sends. If this instance dies mid-send, the emails become due again after the lease.
+    private List<EmailOutbox> claimDueEmails() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime currentDate = LocalDateTime.now();
+            List<EmailOutbox> dueEmails = emailOutboxRepository.findDueEmails(currentDate, PageRequest.of(0, batchSize));
+            dueEmails.forEach(email -> email.setNextAttemptDate(currentDate.plusNanos(claimLeaseMs * 1_000_000)));
+            return emailOutboxRepository.saveAll(dueEmails);
+        });
+    }
+
+    private void dispatch(List<EmailOutbox> emails) {
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        Map<EmailOutbox, Exception> failures = new HashMap<>();
+        for (EmailOutbox email : emails) {
+            try {
+                messages.put(emailService.createMessage(email), email);
+            } catch (Exception e) {
+                failures.put(email, e);
+            }
+        }
+
+        // The whole batch goes through a single SMTP connection, JavaMailSender reports per-message failures.
+        try {
+            if (!messages.isEmpty()) {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            }
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, exception) -> {
+                EmailOutbox email = messages.get(message);
+                if (email != null) {
+                    failures.put(email, exception);
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email, e));
+            }
+        } catch (MailException e) {
+            // Connection or authentication problem, nothing in this batch was sent.
+            messages.values().forEach(email -> failures.put(email, e));
+        }
+
+        LocalDateTime currentDate = LocalDateTime.now();
+        for (EmailOutbox email : emails) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                email.setStatus(EmailOutboxStatusEnum.SENT);
+                email.setSentDate(currentDate);
+                email.setLastError(null);
+            } else {
+                markFailedAttempt(email, failure, currentDate);
+            }
+        }
+        emailOutboxRepository.saveAll(emails);
+    }
+
+    private void markFailedAttempt(EmailOutbox email, Exception failure, LocalDateTime currentDate) {
+        email.setAttempts(email.getAttempts() + 1);
+        String errorMessage = Objects.toString(failure.getMessage(), failure.getClass().getSimpleName());
+        email.setLastError(errorMessage.length() > MAX_ERROR_LENGTH ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage);
+
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(EmailOutboxStatusEnum.FAILED);
+            logger.error("Email {} to {} failed after {} attempts: {}", email.getId(), email.getRecipient(), email.getAttempts(), email.getLastError());
+            return;
+        }
+
+        // Exponential backoff: base, 2x base, 4x base, ...
+        long backoffMs = retryBackoffMs * (1L << Math.min(email.getAttempts() - 1, 16));
+        email.setNextAttemptDate(currentDate.plusNanos(backoffMs * 1_000_000));
+        logger.warn("Email {} to {} failed (attempt {}), retrying at {}", email.getId(), email.getRecipient(), email.getAttempts(), email.getNextAttemptDate());
+    }
+}
@@ -0,0 +1,84 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.exception.InternalServerErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Template with {{variable}} placeholders, split once into literal segments and variable names so rendering is only appends.
+public final class EmailTemplate {
+    private static final String OPEN_TAG = "{{";
+    private static final String CLOSE_TAG = "}}";
+
+    // literals.length is always variableNames.length + 1, output is literal[0] variable[0] literal[1] ... literal[n].
+    private final String[] literals;
+    private final String[] variableNames;
+    private final boolean escapeHtml;
+
+    private EmailTemplate(String[] literals, String[] variableNames, boolean escapeHtml) {
+        this.literals = literals;
+        this.variableNames = variableNames;
+        this.escapeHtml = escapeHtml;
+    }
+
+    public static EmailTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+
+        int position = 0;
+        int openIndex;
+        while ((openIndex = source.indexOf(OPEN_TAG, position)) != -1) {
+            int closeIndex = source.indexOf(CLOSE_TAG, openIndex + OPEN_TAG.length());
+            if (closeIndex == -1) {
+                throw new IllegalStateException("Unclosed placeholder at index " + openIndex);
+            }
+            literals.add(source.substring(position, openIndex));
+            variableNames.add(source.substring(openIndex + OPEN_TAG.length(), closeIndex).trim());
+            position = closeIndex + CLOSE_TAG.length();
+        }
+        literals.add(source.substring(position));
+
+        return new EmailTemplate(literals.toArray(new String[0]), variableNames.toArray(new String[0]), escapeHtml);
+    }
+
+    public void renderTo(Map<String, String> variables, StringBuilder out) {
+        for (int i = 0; i < variableNames.length; i++) {
+            out.append(literals[i]);
+
+            String value = variables.get(variableNames[i]);
+            if (value == null) {
+                throw new InternalServerErrorException("Missing email template variable: " + variableNames[i]);
+            }
+            if (escapeHtml) {
+                appendEscaped(value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[literals.length - 1]);
+    }
+
+    // Lower bound of the rendered length, used to size the output buffer.
+    public int literalLength() {
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        return length;
+    }
+
+    private static void appendEscaped(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(character);
+            }
+        }
+    }
+}
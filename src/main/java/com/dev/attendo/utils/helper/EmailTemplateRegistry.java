@@ -0,0 +1,104 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.utils.enums.TokenTypeEnum;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Loads and compiles every email template once at startup. Templates live in resources/templates/email:
+// action_<language>.html is the layout, messages_<language>.properties holds the title, content and button per email type.
+@Component
+public class EmailTemplateRegistry {
+    private static final List<String> SUPPORTED_LANGUAGES = List.of("en", "id");
+    private static final String TEMPLATE_PATH = "templates/email/";
+
+    // One buffer per thread, reused across emails. Buffers that grew unusually large are dropped instead of kept.
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> RENDER_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4 * 1024));
+
+    @Value("${spring.app.emailDefaultLanguage:en}")
+    private String defaultLanguage;
+
+    private final Map<String, EmailTemplate> layouts = new HashMap<>();
+    private final Map<String, Map<TokenTypeEnum, MessageTemplates>> messages = new HashMap<>();
+
+    public record RenderedEmail(String subject, String htmlContent) {}
+
+    private record MessageTemplates(EmailTemplate title, EmailTemplate content, EmailTemplate button) {}
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        if (!SUPPORTED_LANGUAGES.contains(defaultLanguage)) {
+            throw new IllegalStateException("Unsupported default email language: " + defaultLanguage);
+        }
+
+        for (String language : SUPPORTED_LANGUAGES) {
+            layouts.put(language, EmailTemplate.compile(readResource("action_" + language + ".html"), true));
+
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(new ClassPathResource(TEMPLATE_PATH + "messages_" + language + ".properties").getInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+
+            Map<TokenTypeEnum, MessageTemplates> languageMessages = new EnumMap<>(TokenTypeEnum.class);
+            for (TokenTypeEnum type : TokenTypeEnum.values()) {
+                languageMessages.put(type, new MessageTemplates(
+                        compileMessage(properties, language, type, "title"),
+                        compileMessage(properties, language, type, "content"),
+                        compileMessage(properties, language, type, "button")
+                ));
+            }
+            messages.put(language, languageMessages);
+        }
+    }
+
+    public RenderedEmail render(TokenTypeEnum type, Locale locale, Map<String, String> variables) {
+        String language = locale != null && SUPPORTED_LANGUAGES.contains(locale.getLanguage()) ? locale.getLanguage() : defaultLanguage;
+        MessageTemplates messageTemplates = messages.get(language).get(type);
+        EmailTemplate layout = layouts.get(language);
+
+        String title = render(messageTemplates.title(), variables);
+        Map<String, String> layoutVariables = new HashMap<>(variables);
+        layoutVariables.put("title", title);
+        layoutVariables.put("content", render(messageTemplates.content(), variables));
+        layoutVariables.put("button", render(messageTemplates.button(), variables));
+
+        return new RenderedEmail(title, render(layout, layoutVariables));
+    }
+
+    private String render(EmailTemplate template, Map<String, String> variables) {
+        StringBuilder buffer = RENDER_BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.literalLength());
+        template.renderTo(variables, buffer);
+        String result = buffer.toString();
+
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            RENDER_BUFFER.remove();
+        }
+        return result;
+    }
+
+    private EmailTemplate compileMessage(Properties properties, String language, TokenTypeEnum type, String field) {
+        String source = properties.getProperty(type.name() + "." + field);
+        if (source == null) {
+            throw new IllegalStateException("Missing email message " + type.name() + "." + field + " for language " + language);
+        }
+        // Messages are plain text, they are escaped once when placed into the HTML layout.
+        return EmailTemplate.compile(source, false);
+    }
+
+    private String readResource(String fileName) throws IOException {
+        try (InputStream inputStream = new ClassPathResource(TEMPLATE_PATH + fileName).getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.dev.attendo.utils.helper;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Connections for PooledTableIdGenerator's block fetches only, kept apart from the application pool. A fetch runs while
+// the generator holds its lock, and the transactions waiting for that lock hold application connections, so a fetch
+// taking its connection from the application pool could wait for them forever.
+// Deliberately not a DataSource bean, the auto-configured application pool stays the only one.
+@Component
+public class IdBlockConnectionPool implements DisposableBean {
+    private final HikariDataSource dataSource;
+
+    public IdBlockConnectionPool(DataSourceProperties dataSourceProperties, @Value("${spring.app.idBlockPoolSize}") int idBlockPoolSize) {
+        dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-block");
+        dataSource.setMaximumPoolSize(idBlockPoolSize);
+        dataSource.setMinimumIdle(0);
+    }
+
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dev.attendo.utils.helper;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Table-backed ids replaced IDENTITY columns that already hold rows. Before any insert (after the schema update,
+// before the web server accepts requests) every generator row is raised past MAX(id) of its table, so the first
+// pooled block can not hand out an id that AUTO_INCREMENT already used. Only ever moves next_val forward.
+@Component
+public class IdGeneratorSync implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorSync.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.app.idAllocationSize}")
+    private int allocationSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Map.Entry<String, String> generated : findGeneratedTables().entrySet()) {
+            String segment = generated.getKey();
+            long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + generated.getValue(), Long.class);
+            long floor = maxId + allocationSize;
+
+            // Both statements are atomic on their own, so instances starting together or Hibernate creating the row
+            // meanwhile can not lower next_val or fail on the primary key
+            int changedRows = jdbcTemplate.update("INSERT IGNORE INTO " + PooledTableIdGenerator.TABLE + " (sequence_name, next_val) VALUES (?, ?)", segment, floor);
+            if (changedRows == 0) {
+                changedRows = jdbcTemplate.update("UPDATE " + PooledTableIdGenerator.TABLE + " SET next_val = ? WHERE sequence_name = ? AND next_val < ?", floor, segment, floor);
+            }
+            if (changedRows == 0) {
+                continue;
+            }
+            logger.info("Id generator for {} moved to {}", segment, floor);
+        }
+    }
+
+    // Generator segment -> entity table, for every entity whose id is a @PooledTableId
+    private Map<String, String> findGeneratedTables() {
+        Map<String, String> generatedTables = new TreeMap<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof PooledTableIdGenerator generator && persister instanceof AbstractEntityPersister entityPersister) {
+                generatedTables.put(generator.getSegmentValue(), entityPersister.getTableName());
+            }
+        });
+        return generatedTables;
+    }
+}
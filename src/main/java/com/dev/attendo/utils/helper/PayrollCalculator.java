@@ -0,0 +1,34 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.dtos.salary.PayrollFigures;
+import com.dev.attendo.exception.ResourceNotFoundException;
+import com.dev.attendo.repository.SalaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@Component
+public class PayrollCalculator {
+
+    @Autowired
+    SalaryRepository salaryRepository;
+
+    // salaryDate picks the salary version (null means the one effective today), year and month the payroll period.
+    public PayrollFigures calculate(Long userId, Long storeId, LocalDate salaryDate, int year, int month) {
+        PayrollFigures figures = salaryRepository.getPayrollFigures(userId, storeId, salaryDate, YearMonth.of(year, month).atDay(1),
+                        DateRangeUtils.startOfMonth(year, month), DateRangeUtils.startOfNextMonth(year, month))
+                .orElseThrow(() -> new ResourceNotFoundException("User dengan id: " + userId + " tidak ditemukan!"));
+
+        if (figures.salaryAmount() == null) {
+            throw new ResourceNotFoundException("Data gaji tidak ditemukan!");
+        }
+        return figures;
+    }
+
+    public PayrollFigures calculateCurrentMonth(Long userId, Long storeId) {
+        LocalDate currentDate = LocalDate.now();
+        return calculate(userId, storeId, null, currentDate.getYear(), currentDate.getMonthValue());
+    }
+}
@@ -0,0 +1,15 @@
+package com.dev.attendo.utils.helper;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Replaces @GeneratedValue(strategy = IDENTITY) on entity ids, see PooledTableIdGenerator.
+@IdGeneratorType(PooledTableIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PooledTableId {
+}
@@ -0,0 +1,105 @@
+package com.dev.attendo.utils.helper;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+// Hi/lo style ids for MySQL, which has no sequences: one row per entity table in id_generator hands out blocks of
+// ALLOCATION_SIZE_SETTING ids, so a save no longer needs its INSERT executed right away to learn the id and
+// inserts can be batched. The segment of an entity is its table name, which IdGeneratorSync relies on.
+// Blocks are fetched on IdBlockConnectionPool instead of a second connection of the application pool, see there.
+public class PooledTableIdGenerator extends TableGenerator {
+    public static final String TABLE = "id_generator";
+    public static final String ALLOCATION_SIZE_SETTING = "attendo.id_allocation_size";
+    public static final String CONNECTION_POOL_SETTING = "attendo.id_block_connection_pool";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private IdBlockConnectionPool connectionPool;
+
+    private int allocationSize;
+
+    // Ids nextId..lastId of the current block are still free
+    private long nextId = 1;
+
+    private long lastId;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configurationService = serviceRegistry.requireService(ConfigurationService.class);
+        allocationSize = configurationService.getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        connectionPool = (IdBlockConnectionPool) configurationService.getSettings().get(CONNECTION_POOL_SETTING);
+
+        parameters.setProperty(TABLE_PARAM, TABLE);
+        parameters.setProperty(SEGMENT_COLUMN_PARAM, "sequence_name");
+        parameters.setProperty(VALUE_COLUMN_PARAM, "next_val");
+        parameters.setProperty(SEGMENT_VALUE_PARAM, parameters.getProperty(PersistentIdentifierGenerator.TABLE));
+        parameters.setProperty(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OptimizableGenerator.OPT_PARAM, "pooled");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public synchronized Object generate(SharedSessionContractImplementor session, Object owner) {
+        if (connectionPool == null) {
+            return super.generate(session, owner);
+        }
+        if (nextId > lastId) {
+            lastId = reserveBlock();
+            nextId = lastId - allocationSize + 1;
+        }
+        return nextId++;
+    }
+
+    // Raises next_val of the segment by one block in its own short transaction and returns it. next_val is the last
+    // reserved id, so ids handed out under a value written by IdGeneratorSync or by TableGenerator are never repeated.
+    private long reserveBlock() {
+        try (Connection connection = connectionPool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (raiseNextValue(connection) == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement("INSERT IGNORE INTO " + TABLE + " (sequence_name, next_val) VALUES (?, 0)")) {
+                        insert.setString(1, getSegmentValue());
+                        insert.executeUpdate();
+                    }
+                    raiseNextValue(connection);
+                }
+                long reservedUpTo;
+                try (PreparedStatement select = connection.prepareStatement("SELECT next_val FROM " + TABLE + " WHERE sequence_name = ?")) {
+                    select.setString(1, getSegmentValue());
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        resultSet.next();
+                        reservedUpTo = resultSet.getLong(1);
+                    }
+                }
+                connection.commit();
+                return reservedUpTo;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new HibernateException("Could not reserve ids for " + getSegmentValue(), e);
+        }
+    }
+
+    private int raiseNextValue(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement("UPDATE " + TABLE + " SET next_val = next_val + ? WHERE sequence_name = ?")) {
+            update.setInt(1, allocationSize);
+            update.setString(2, getSegmentValue());
+            return update.executeUpdate();
+        }
+    }
+}
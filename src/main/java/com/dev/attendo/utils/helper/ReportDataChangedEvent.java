@@ -0,0 +1,5 @@
+package com.dev.attendo.utils.helper;
+
+// Published after attendance, leave or overtime writes of a store, so ReportSliceCache drops that store's months after commit.
+public record ReportDataChangedEvent(Long storeId) {
+}
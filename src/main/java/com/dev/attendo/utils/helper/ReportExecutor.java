@@ -0,0 +1,98 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.exception.InternalServerErrorException;
+import com.dev.attendo.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Runs the independent aggregate queries of a report on the bounded reportQueryExecutor, so a report waits for its
+// slowest query instead of the sum of all of them. Submit every query first, then awaitAll them under one timeout.
+// Each query runs in a read-only transaction whose timeout, spring.app.reportTimeoutMs rounded up to seconds, Spring
+// applies as the JDBC statement timeout, so the database aborts a query the report has already given up on.
+@Component
+public class ReportExecutor {
+
+    @Autowired
+    @Qualifier("reportQueryExecutor")
+    private ThreadPoolTaskExecutor reportQueryExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.app.reportTimeoutMs}")
+    private long reportTimeoutMs;
+
+    // A plain FutureTask, unlike CompletableFuture its cancel(true) interrupts the worker running the query.
+    // When the pool rejects the query the returned future has already failed, so awaitAll cancels the report's
+    // other queries instead of leaving them running.
+    public <T> Future<T> submit(Supplier<T> query) {
+        TransactionTemplate reportTransaction = new TransactionTemplate(transactionManager);
+        reportTransaction.setReadOnly(true);
+        reportTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(reportTimeoutMs + 999)));
+        try {
+            return reportQueryExecutor.submit(() -> reportTransaction.execute(status -> query.get()));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException("Server sedang memproses banyak laporan, silakan coba lagi!"));
+        }
+    }
+
+    // Waits for every query of one report within spring.app.reportTimeoutMs, rethrowing the first failure as is
+    public void awaitAll(Future<?>... queries) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reportTimeoutMs);
+        try {
+            // A rejected query has failed already, fail the report before waiting for the others
+            for (Future<?> query : queries) {
+                if (query.isDone()) {
+                    query.get();
+                }
+            }
+            for (Future<?> query : queries) {
+                query.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            cancelAll(queries);
+            throw new InternalServerErrorException("Waktu pembuatan laporan habis, silakan coba lagi!");
+        } catch (InterruptedException e) {
+            cancelAll(queries);
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Pembuatan laporan dibatalkan!");
+        } catch (ExecutionException e) {
+            cancelAll(queries);
+            if (e.getCause() instanceof QueryTimeoutException || e.getCause() instanceof TransactionTimedOutException) {
+                throw new InternalServerErrorException("Waktu pembuatan laporan habis, silakan coba lagi!");
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new InternalServerErrorException("Gagal membuat laporan!");
+        }
+    }
+
+    // Single query report, still bounded by the report pool and timeout
+    public <T> T execute(Supplier<T> query) {
+        Future<T> result = submit(query);
+        awaitAll(result);
+        return result.resultNow();
+    }
+
+    private void cancelAll(Future<?>... queries) {
+        for (Future<?> query : queries) {
+            query.cancel(true);
+        }
+    }
+}
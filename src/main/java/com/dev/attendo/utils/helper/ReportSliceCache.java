@@ -0,0 +1,97 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.utils.enums.ReportTypeEnum;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Report query rows cached per (store, report type, month). Closed months never change unless a write hits them,
+// so they stay cached until ReportDataChangedEvent evicts the store; the current month is always queried fresh.
+// Slices are shared between report periods, a 12 month report reuses the months a 3 month report already loaded.
+@Component
+public class ReportSliceCache {
+    public static final String CACHE_NAME = "reportSlices";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Bumped by every eviction, a range loaded across one is returned but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Rows of every month from startDate to currentDate. Closed months are taken from the cache up to the first one
+    // missing, everything from there through currentDate is loaded by a single loader call (rows from the first day of
+    // the given month up to currentDate), split per month with monthOf and stored afterwards, never inside the cache.
+    public <T> List<T> getMonthlyRows(Long storeId, ReportTypeEnum type, LocalDate startDate, LocalDate currentDate,
+                                      Function<T, YearMonth> monthOf, Function<YearMonth, List<T>> loader) {
+        Cache<Object, Object> cache = nativeCache();
+        YearMonth currentMonth = YearMonth.from(currentDate);
+
+        List<T> rows = new ArrayList<>();
+        YearMonth firstLoadedMonth = YearMonth.from(startDate);
+        while (firstLoadedMonth.isBefore(currentMonth)) {
+            @SuppressWarnings("unchecked")
+            List<T> slice = (List<T>) cache.getIfPresent(new ReportSliceKey(storeId, type, firstLoadedMonth));
+            if (slice == null) {
+                break;
+            }
+            rows.addAll(slice);
+            firstLoadedMonth = firstLoadedMonth.plusMonths(1);
+        }
+
+        long invalidationCount = invalidations.get();
+        Map<YearMonth, List<T>> loadedRows = new HashMap<>();
+        for (T row : loader.apply(firstLoadedMonth)) {
+            loadedRows.computeIfAbsent(monthOf.apply(row), month -> new ArrayList<>()).add(row);
+        }
+
+        // Months without rows are cached as empty slices too, so they are not loaded again
+        Map<ReportSliceKey, List<T>> closedSlices = new HashMap<>();
+        for (YearMonth month = firstLoadedMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            List<T> slice = loadedRows.getOrDefault(month, List.of());
+            rows.addAll(slice);
+            if (month.isBefore(currentMonth)) {
+                closedSlices.put(new ReportSliceKey(storeId, type, month), List.copyOf(slice));
+            }
+        }
+
+        // A write evicting the store while the range was loading may be missing from it, so those slices are not kept
+        if (invalidations.get() == invalidationCount) {
+            cache.putAll(closedSlices);
+        }
+        return rows;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataChanged(ReportDataChangedEvent event) {
+        // Back-dated writes can touch any past month, so the whole store is dropped rather than a single slice
+        invalidations.incrementAndGet();
+        nativeCache().asMap().keySet().removeIf(key -> key instanceof ReportSliceKey sliceKey && sliceKey.storeId().equals(event.storeId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalaryChanged(SalaryChangedEvent event) {
+        // Expenses are priced with the salary valid in each month; salary changes are rare, so every store's expenses go
+        invalidations.incrementAndGet();
+        nativeCache().asMap().keySet().removeIf(key -> key instanceof ReportSliceKey sliceKey && sliceKey.type() == ReportTypeEnum.EXPENSES);
+    }
+
+    private Cache<Object, Object> nativeCache() {
+        return ((CaffeineCache) Objects.requireNonNull(cacheManager.getCache(CACHE_NAME))).getNativeCache();
+    }
+
+    private record ReportSliceKey(Long storeId, ReportTypeEnum type, YearMonth month) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.dev.attendo.utils.helper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Re-runs a @Transactional service method in a new transaction when it loses an optimistic lock race, see OptimisticLockRetryAspect.
+// The method must be safe to repeat and must let OptimisticLockingFailureException escape its own try/catch.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
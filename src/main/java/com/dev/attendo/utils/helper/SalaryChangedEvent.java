@@ -0,0 +1,5 @@
+package com.dev.attendo.utils.helper;
+
+// Published whenever a user's salary history changes, so SalaryIntervalIndex drops its copy after commit.
+public record SalaryChangedEvent(Long userId) {
+}
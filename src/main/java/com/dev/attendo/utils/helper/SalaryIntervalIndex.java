@@ -0,0 +1,81 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.Salary;
+import com.dev.attendo.repository.SalaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+// In-memory salary history per user, answering the same question as findLatestActiveSalaryByUserAndOptionalDate
+// with a binary search instead of a round trip. Loaded lazily on first lookup and evicted on SalaryChangedEvent;
+// other instances pick up a change when their copy expires (spring.app.salaryIntervalCacheTtlMs).
+@Component
+public class SalaryIntervalIndex {
+    public static final String CACHE_NAME = "salaryIntervals";
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Amount of the salary version effective on targetDate (today when null), empty when none is effective yet.
+    public OptionalInt findAmount(Long userId, LocalDate targetDate) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+        SalaryIntervals intervals = cache.get(userId, () -> load(userId));
+
+        long targetDay = (targetDate != null ? targetDate : LocalDate.now()).toEpochDay();
+        int index = intervals.indexOf(targetDay);
+        return index < 0 ? OptionalInt.empty() : OptionalInt.of(intervals.amounts()[index]);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalaryChanged(SalaryChangedEvent event) {
+        Objects.requireNonNull(cacheManager.getCache(CACHE_NAME)).evict(event.userId());
+    }
+
+    private SalaryIntervals load(Long userId) {
+        // History is ordered by effectiveDate then creation, so of versions sharing a day the last one wins.
+        List<Salary> salaryHistory = salaryRepository.findSalaryHistoryByUser(userId);
+        long[] effectiveDays = new long[salaryHistory.size()];
+        int[] amounts = new int[salaryHistory.size()];
+        int size = 0;
+        for (Salary salary : salaryHistory) {
+            long effectiveDay = salary.getEffectiveDate().toEpochDay();
+            if (size > 0 && effectiveDays[size - 1] == effectiveDay) {
+                size--;
+            }
+            effectiveDays[size] = effectiveDay;
+            amounts[size] = salary.getAmount();
+            size++;
+        }
+        return new SalaryIntervals(Arrays.copyOf(effectiveDays, size), Arrays.copyOf(amounts, size));
+    }
+
+    // Sorted, strictly increasing effective days; version i is valid from effectiveDays[i] until effectiveDays[i + 1].
+    private record SalaryIntervals(long[] effectiveDays, int[] amounts) {
+
+        // Index of the last version with effectiveDay <= day, or -1
+        int indexOf(long day) {
+            int low = 0;
+            int high = effectiveDays.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (effectiveDays[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.repository.SalaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Runs on every startup: re-chains Salary.validTo for users whose history still has an open-ended row followed by a
+// later version, i.e. rows created before the column existed. Chained histories are not selected, so once every
+// user is backfilled a startup costs a single query.
+@Component
+public class SalaryValidityBackfill implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SalaryValidityBackfill.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private SalaryValidityUpdater salaryValidityUpdater;
+
+    @Override
+    public void run(String... args) {
+        int backfilledUserCount = 0;
+        long lastUserId = 0;
+        List<Long> userIds = salaryRepository.findUserIdsWithUnchainedSalary(lastUserId, PageRequest.of(0, BATCH_SIZE));
+        while (!userIds.isEmpty()) {
+            for (Long userId : userIds) {
+                salaryValidityUpdater.recompute(userId);
+                backfilledUserCount++;
+            }
+            lastUserId = userIds.get(userIds.size() - 1);
+            userIds = salaryRepository.findUserIdsWithUnchainedSalary(lastUserId, PageRequest.of(0, BATCH_SIZE));
+        }
+        if (backfilledUserCount > 0) {
+            logger.info("Salary validity backfill finished, {} users updated", backfilledUserCount);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.Salary;
+import com.dev.attendo.repository.SalaryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Component
+public class SalaryValidityUpdater {
+
+    @Autowired
+    SalaryRepository salaryRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    // Re-chains validTo over the user's whole salary history, so a version added with an earlier effectiveDate
+    // than an existing one (targetMonth in the past) still splits the right range. Versions sharing an effectiveDate
+    // end up with an empty range except the last created, matching findLatestActiveSalaryByUserAndOptionalDate.
+    @Transactional
+    public void recompute(Long userId) {
+        List<Salary> salaryHistory = salaryRepository.findSalaryHistoryByUser(userId);
+        for (int i = 0; i < salaryHistory.size(); i++) {
+            Salary salary = salaryHistory.get(i);
+            salary.setValidTo(i + 1 < salaryHistory.size() ? salaryHistory.get(i + 1).getEffectiveDate() : null);
+        }
+        salaryRepository.saveAll(salaryHistory);
+        eventPublisher.publishEvent(new SalaryChangedEvent(userId));
+    }
+}
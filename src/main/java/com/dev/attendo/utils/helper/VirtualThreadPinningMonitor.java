@@ -0,0 +1,63 @@
+package com.dev.attendo.utils.helper;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// Logs every virtual thread that stays pinned to its carrier (e.g. blocking inside a synchronized block of a JDBC driver)
+// longer than the threshold, so pinning shows up in the regular application log without attaching a profiler.
+@Component
+@Profile("virtual")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int MAX_LOGGED_FRAMES = 15;
+
+    @Value("${spring.app.pinnedThreadThreshold:20ms}")
+    private Duration pinnedThreadThreshold;
+
+    private RecordingStream recordingStream;
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(pinnedThreadThreshold).withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::logPinnedThread);
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning monitor started, threshold {} ms", pinnedThreadThreshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void logPinnedThread(RecordedEvent event) {
+        String stackTrace = event.getStackTrace() == null ? "-" : event.getStackTrace().getFrames().stream()
+                .limit(MAX_LOGGED_FRAMES)
+                .map(this::formatFrame)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        logger.warn("Virtual thread {} pinned for {} ms{}", event.getThread() == null ? "-" : event.getThread().getJavaName(), event.getDuration().toMillis(), stackTrace);
+    }
+
+    private String formatFrame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,189 @@
+package com.dev.attendo.utils.storage;
+
+import com.dev.attendo.exception.BadRequestException;
+import com.dev.attendo.exception.InternalServerErrorException;
+import com.dev.attendo.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Component
+public class LocalPhotoStore implements PhotoStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalPhotoStore.class);
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Path rootPath;
+
+    public LocalPhotoStore(@Value("${spring.app.photoStoragePath}") String photoStoragePath) {
+        this.rootPath = Paths.get(photoStoragePath).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String save(byte[] content) {
+        String key = sha256(content);
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            return key;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+
+            // Write to a temporary file first, so readers never see a partially written photo.
+            Path tempFile = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                Files.write(tempFile, content);
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently by another request.
+                logger.debug("Photo {} already stored", key);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            return key;
+
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Gagal menyimpan foto: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String save(InputStream content, long maxBytes) {
+        try {
+            Path tempDirectory = rootPath.resolve("tmp");
+            Files.createDirectories(tempDirectory);
+            Path tempFile = Files.createTempFile(tempDirectory, "upload", ".tmp");
+            try {
+                MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+                try (InputStream digestStream = new DigestInputStream(content, messageDigest);
+                     OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                    byte[] header = digestStream.readNBytes(PhotoMediaTypes.SIGNATURE_LENGTH);
+                    if (PhotoMediaTypes.detect(header) == null) {
+                        throw new BadRequestException("Format foto tidak didukung! Gunakan JPEG, PNG atau WebP.");
+                    }
+                    outputStream.write(header);
+
+                    long totalBytes = header.length;
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int readBytes;
+                    while ((readBytes = digestStream.read(buffer)) != -1) {
+                        totalBytes += readBytes;
+                        if (totalBytes > maxBytes) {
+                            throw new BadRequestException("Ukuran foto melebihi batas maksimal " + (maxBytes / 1024) + " KB!");
+                        }
+                        outputStream.write(buffer, 0, readBytes);
+                    }
+                }
+
+                String key = HexFormat.of().formatHex(messageDigest.digest());
+                Path target = resolve(key);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        logger.debug("Photo {} already stored", key);
+                    }
+                }
+                return key;
+
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Gagal menyimpan foto: " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public byte[] load(String key) {
+        Path target = resolve(key);
+        try {
+            return Files.readAllBytes(target);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Foto tidak ditemukan!");
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Gagal membaca foto: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Resource loadAsResource(String key) {
+        Path target = resolve(key);
+        if (!Files.isRegularFile(target)) {
+            throw new ResourceNotFoundException("Foto tidak ditemukan!");
+        }
+        return new FileSystemResource(target);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void saveRendition(String key, int size, byte[] content) {
+        Path target = resolveRendition(key, size);
+        try {
+            Files.createDirectories(target.getParent());
+            Path tempFile = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                Files.write(tempFile, content);
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Gagal menyimpan thumbnail foto: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean renditionExists(String key, int size) {
+        return Files.exists(resolveRendition(key, size));
+    }
+
+    @Override
+    public Resource loadRenditionAsResource(String key, int size) {
+        Path target = resolveRendition(key, size);
+        if (!Files.isRegularFile(target)) {
+            throw new ResourceNotFoundException("Thumbnail foto tidak ditemukan!");
+        }
+        return new FileSystemResource(target);
+    }
+
+    private Path resolveRendition(String key, int size) {
+        return resolve(key).resolveSibling(key + "_" + size + ".jpg");
+    }
+
+    // Fan out into two directory levels (e.g. ab/cd/abcd...) to keep directory sizes small.
+    private Path resolve(String key) {
+        if (key == null || !key.matches("[0-9a-f]{64}")) {
+            throw new ResourceNotFoundException("Foto tidak ditemukan!");
+        }
+        return rootPath.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
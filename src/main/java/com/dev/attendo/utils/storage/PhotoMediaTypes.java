@@ -0,0 +1,52 @@
+package com.dev.attendo.utils.storage;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Photo formats are recognised by their magic bytes, both when an upload is accepted and when a photo is served.
+public class PhotoMediaTypes {
+
+    public static final MediaType IMAGE_WEBP = MediaType.parseMediaType("image/webp");
+
+    // WebP is a RIFF container with "WEBP" at offset 8.
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] RIFF_SIGNATURE = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP_SIGNATURE = {'W', 'E', 'B', 'P'};
+    public static final int SIGNATURE_LENGTH = 12;
+
+    // Null when the content is not a JPEG, PNG or WebP image.
+    public static MediaType detect(byte[] header) {
+        if (startsWith(header, 0, JPEG_SIGNATURE)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (startsWith(header, 0, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(header, 0, RIFF_SIGNATURE) && startsWith(header, 8, WEBP_SIGNATURE)) {
+            return IMAGE_WEBP;
+        }
+        return null;
+    }
+
+    // Reads only the signature of the photo. Legacy photos were always JPEG, so that stays the fallback.
+    public static MediaType detect(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            MediaType mediaType = detect(inputStream.readNBytes(SIGNATURE_LENGTH));
+            return mediaType != null ? mediaType : MediaType.IMAGE_JPEG;
+        } catch (IOException e) {
+            return MediaType.IMAGE_JPEG;
+        }
+    }
+
+    private static boolean startsWith(byte[] header, int offset, byte[] signature) {
+        if (header.length < offset + signature.length) {
+            return false;
+        }
+        return Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+    }
+}
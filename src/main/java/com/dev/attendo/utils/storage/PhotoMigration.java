@@ -0,0 +1,91 @@
+package com.dev.attendo.utils.storage;
+
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Profile;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.repository.ProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// One-shot job: moves attendance photos and profile pictures still stored as LONGBLOB in their rows into PhotoStore.
+// Enable with spring.app.photoMigrationEnabled=true, then disable again once it reports 0 remaining rows.
+@Component
+@ConditionalOnProperty(name = "spring.app.photoMigrationEnabled", havingValue = "true")
+public class PhotoMigration implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(PhotoMigration.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        int migratedAttendanceCount = 0;
+        List<Long> attendanceIds = attendanceRepository.findIdsWithLegacyPhotos(PageRequest.of(0, BATCH_SIZE));
+        while (!attendanceIds.isEmpty()) {
+            // One transaction per row keeps at most one row's photos in memory at a time.
+            for (Long attendanceId : attendanceIds) {
+                transactionTemplate.executeWithoutResult(status -> migrateAttendance(attendanceId));
+                migratedAttendanceCount++;
+            }
+            attendanceIds = attendanceRepository.findIdsWithLegacyPhotos(PageRequest.of(0, BATCH_SIZE));
+        }
+
+        int migratedProfileCount = 0;
+        List<Long> profileIds = profileRepository.findIdsWithLegacyProfilePicture(PageRequest.of(0, BATCH_SIZE));
+        while (!profileIds.isEmpty()) {
+            for (Long profileId : profileIds) {
+                transactionTemplate.executeWithoutResult(status -> migrateProfile(profileId));
+                migratedProfileCount++;
+            }
+            profileIds = profileRepository.findIdsWithLegacyProfilePicture(PageRequest.of(0, BATCH_SIZE));
+        }
+        logger.info("Photo migration finished, {} attendance rows and {} profile rows migrated", migratedAttendanceCount, migratedProfileCount);
+    }
+
+    private void migrateAttendance(Long attendanceId) {
+        Attendance attendance = attendanceRepository.findById(attendanceId).orElse(null);
+        if (attendance == null) {
+            return;
+        }
+
+        if (attendance.getPhotoIn() != null && attendance.getPhotoInKey() == null) {
+            attendance.setPhotoInKey(photoStore.save(attendance.getPhotoIn()));
+        }
+        if (attendance.getPhotoOut() != null && attendance.getPhotoOutKey() == null) {
+            attendance.setPhotoOutKey(photoStore.save(attendance.getPhotoOut()));
+        }
+        attendance.setPhotoIn(null);
+        attendance.setPhotoOut(null);
+        attendanceRepository.save(attendance);
+    }
+
+    private void migrateProfile(Long profileId) {
+        Profile profile = profileRepository.findById(profileId).orElse(null);
+        if (profile == null) {
+            return;
+        }
+
+        profile.setProfilePictureKey(photoStore.save(profile.getProfilePicture()));
+        profile.setProfilePicture(null);
+        profileRepository.save(profile);
+    }
+}
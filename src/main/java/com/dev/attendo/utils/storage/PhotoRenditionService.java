@@ -0,0 +1,151 @@
+package com.dev.attendo.utils.storage;
+
+import com.dev.attendo.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.*;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+@Component
+public class PhotoRenditionService {
+    private static final Logger logger = LoggerFactory.getLogger(PhotoRenditionService.class);
+
+    // Longest edge in pixels, largest first: every rendition is downscaled from the previous one.
+    public static final int[] RENDITION_SIZES = {1024, 320, 96};
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    @Qualifier("photoRenditionExecutor")
+    private TaskExecutor photoRenditionExecutor;
+
+    public static void validateSize(Integer size) {
+        if (size != null && Arrays.stream(RENDITION_SIZES).noneMatch(renditionSize -> renditionSize == size)) {
+            throw new BadRequestException("Ukuran foto tidak valid! Ukuran yang tersedia: " + Arrays.toString(RENDITION_SIZES));
+        }
+    }
+
+    // Serves the requested rendition when it is ready. Until then the original is returned uncached, so clients pick up the thumbnail later.
+    public StoredPhoto load(String key, Integer size) {
+        if (size == null) {
+            return original(key, key);
+        }
+        if (photoStore.renditionExists(key, size)) {
+            return new StoredPhoto(key + "-" + size, photoStore.loadRenditionAsResource(key, size), MediaType.IMAGE_JPEG);
+        }
+
+        generateAsync(key);
+        return original(null, key);
+    }
+
+    private StoredPhoto original(String etag, String key) {
+        Resource resource = photoStore.loadAsResource(key);
+        return new StoredPhoto(etag, resource);
+    }
+
+    // Runs on the bounded rendition executor. When its queue is full the task is dropped and the original keeps being served.
+    public void generateAsync(String key) {
+        photoRenditionExecutor.execute(() -> {
+            try {
+                generate(key);
+            } catch (Exception e) {
+                logger.error("Failed to generate renditions for photo {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    private void generate(String key) throws IOException {
+        if (Arrays.stream(RENDITION_SIZES).allMatch(size -> photoStore.renditionExists(key, size))) {
+            return;
+        }
+
+        BufferedImage image = decode(photoStore.loadAsResource(key));
+        if (image == null) {
+            logger.warn("Photo {} is not a decodable image, renditions skipped", key);
+            return;
+        }
+
+        for (int size : RENDITION_SIZES) {
+            image = downscale(image, size);
+            photoStore.saveRendition(key, size, encodeJpeg(image));
+        }
+    }
+
+    // Decode once. Large camera photos are subsampled while reading, so a 48MP upload is never fully expanded in heap.
+    private BufferedImage decode(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestEdge / (RENDITION_SIZES[0] * 2));
+
+                ImageReadParam readParam = reader.getDefaultReadParam();
+                readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, readParam);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage downscale(BufferedImage source, int maxEdge) {
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // Always redraw into an RGB image: JPEG has no alpha channel.
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam writeParam = writer.getDefaultWriteParam();
+            writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            writeParam.setCompressionQuality(JPEG_QUALITY);
+
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,26 @@
+package com.dev.attendo.utils.storage;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+public class PhotoResponseUtils {
+
+    // Resource bodies are streamed by Spring MVC, which also answers Range requests with 206 partial content.
+    // A matching If-None-Match is answered with 304 here, before the media type is sniffed, so no byte is read.
+    public static ResponseEntity<Resource> toResponse(StoredPhoto photo, WebRequest webRequest) {
+        // Content-addressed photos never change under the same ETag, so clients may cache them for good.
+        if (photo.isCacheable()) {
+            CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+            if (webRequest.checkNotModified(photo.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(photo.getEtag()).cacheControl(cacheControl).build();
+            }
+            return ResponseEntity.ok().contentType(photo.getMediaType()).eTag(photo.getEtag()).cacheControl(cacheControl).body(photo.getResource());
+        }
+        return ResponseEntity.ok().contentType(photo.getMediaType()).cacheControl(CacheControl.noCache()).body(photo.getResource());
+    }
+}
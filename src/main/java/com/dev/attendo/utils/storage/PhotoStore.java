@@ -0,0 +1,29 @@
+package com.dev.attendo.utils.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+
+public interface PhotoStore {
+
+    // Store photo content and return its content-addressed key (SHA-256 hex). Identical content is stored once.
+    String save(byte[] content);
+
+    // Streaming variant for uploads: content is hashed while it is copied, so it is never held in heap as a whole.
+    // Rejects content larger than maxBytes or not starting with a JPEG, PNG or WebP signature.
+    String save(InputStream content, long maxBytes);
+
+    byte[] load(String key);
+
+    // File-backed handle, so controllers can stream (and serve byte ranges of) the photo without loading it into heap.
+    Resource loadAsResource(String key);
+
+    boolean exists(String key);
+
+    // Renditions are downscaled JPEG copies of a stored photo, addressed by the original key and their longest edge.
+    void saveRendition(String key, int size, byte[] content);
+
+    boolean renditionExists(String key, int size);
+
+    Resource loadRenditionAsResource(String key, int size);
+}
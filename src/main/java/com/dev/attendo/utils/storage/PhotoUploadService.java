@@ -0,0 +1,47 @@
+package com.dev.attendo.utils.storage;
+
+import com.dev.attendo.exception.BadRequestException;
+import com.dev.attendo.exception.InternalServerErrorException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Component
+public class PhotoUploadService {
+
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    private PhotoRenditionService photoRenditionService;
+
+    @Value("${spring.app.photoMaxSize}")
+    private DataSize photoMaxSize;
+
+    // Called by the controller after AttendanceService has validated the request and before the attendance write,
+    // so a rejected request never uploads and an optimistic lock retry of the write never repeats the upload.
+    public String store(MultipartFile photo) {
+        if (photo == null || photo.isEmpty()) {
+            throw new BadRequestException("Foto wajib diunggah!");
+        }
+        if (photo.getSize() > photoMaxSize.toBytes()) {
+            throw new BadRequestException("Ukuran foto melebihi batas maksimal " + photoMaxSize.toKilobytes() + " KB!");
+        }
+
+        // The part is spooled to disk by the container, streaming it keeps only a small buffer in heap.
+        String photoKey;
+        try (InputStream inputStream = photo.getInputStream()) {
+            photoKey = photoStore.save(inputStream, photoMaxSize.toBytes());
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Gagal membaca foto yang diunggah: " + e.getMessage());
+        }
+
+        photoRenditionService.generateAsync(photoKey);
+        return photoKey;
+    }
+}
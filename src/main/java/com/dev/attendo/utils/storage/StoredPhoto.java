@@ -0,0 +1,35 @@
+package com.dev.attendo.utils.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+@Getter
+@AllArgsConstructor
+public class StoredPhoto {
+    // Derived from the content hash of the photo (plus rendition size), null when the response must not be cached:
+    // legacy photos still stored in the database row, or an original served while its rendition is not ready yet.
+    private String etag;
+
+    private Resource resource;
+
+    // Originals keep their uploaded format (JPEG, PNG or WebP), renditions are always JPEG.
+    private MediaType mediaType;
+
+    // Media type sniffed from the header on first use, so a 304 answered from the ETag never opens the file.
+    public StoredPhoto(String etag, Resource resource) {
+        this(etag, resource, null);
+    }
+
+    public MediaType getMediaType() {
+        if (mediaType == null) {
+            mediaType = PhotoMediaTypes.detect(resource);
+        }
+        return mediaType;
+    }
+
+    public boolean isCacheable() {
+        return etag != null;
+    }
+}
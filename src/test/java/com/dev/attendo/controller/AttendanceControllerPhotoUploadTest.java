@@ -0,0 +1,72 @@
+package com.dev.attendo.controller;
+
+import com.dev.attendo.exception.BadRequestException;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import com.dev.attendo.utils.storage.PhotoStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+@WithMockUser(roles = "EMPLOYEE")
+class AttendanceControllerPhotoUploadTest {
+    // The test store sits at (0, 0) with a 100 m radius
+    private static final double OUTSIDE_RADIUS = 1.0;
+
+    @Autowired
+    AttendanceController attendanceController;
+
+    @Autowired
+    PhotoStore photoStore;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void clockInOutsideRadiusDoesNotStorePhoto() throws Exception {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        byte[] photo = fixtures.photo();
+
+        assertThatThrownBy(() -> attendanceController.addClockIn(employee.getUsername(), LocalDateTime.now(), multipart(photo), OUTSIDE_RADIUS, OUTSIDE_RADIUS))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(photoStore.exists(sha256(photo))).isFalse();
+    }
+
+    @Test
+    void repeatedClockInDoesNotStorePhoto() throws Exception {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        LocalDateTime clockIn = LocalDateTime.now();
+        byte[] firstPhoto = fixtures.photo();
+        byte[] secondPhoto = fixtures.photo();
+
+        attendanceController.addClockIn(employee.getUsername(), clockIn, multipart(firstPhoto), 0, 0);
+        assertThatThrownBy(() -> attendanceController.addClockIn(employee.getUsername(), clockIn.plusMinutes(1), multipart(secondPhoto), 0, 0))
+                .isInstanceOf(BadRequestException.class);
+
+        assertThat(photoStore.exists(sha256(firstPhoto))).isTrue();
+        assertThat(photoStore.exists(sha256(secondPhoto))).isFalse();
+    }
+
+    private static MockMultipartFile multipart(byte[] content) {
+        return new MockMultipartFile("photo", "photo.jpg", "image/jpeg", content);
+    }
+
+    private static String sha256(byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,107 @@
+package com.dev.attendo.controller;
+
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.support.Benchmark;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Concurrent clock-ins through AttendanceController, each on its own request thread: a pool of Tomcat's default 200
+// platform threads (the default mode) against a virtual thread per request (the 'virtual' profile). Every request
+// uploads a new photo and writes its attendance through the shared Hikari pool. Prints throughput of both modes and the
+// virtual threads pinned longer than the profile's 20 ms threshold. H2 answers in memory without a network round trip,
+// so against MySQL the requests block longer and the gap between the modes is wider than printed here.
+@Tag("benchmark")
+@IntegrationTest
+class ClockInThreadModelBenchmarkTest {
+    private static final int CLIENTS = 400;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int EMPLOYEES_PER_STORE = 20;
+
+    @Autowired
+    AttendanceController attendanceController;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void platformAgainstVirtualThreads() throws Exception {
+        int platformClockIns = run("clock-in platform threads", () -> Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+
+        AtomicInteger pinnedThreads = new AtomicInteger();
+        int virtualClockIns;
+        try (RecordingStream pinningEvents = new RecordingStream()) {
+            pinningEvents.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20));
+            pinningEvents.onEvent("jdk.VirtualThreadPinned", event -> pinnedThreads.incrementAndGet());
+            pinningEvents.startAsync();
+            virtualClockIns = run("clock-in virtual threads", Executors::newVirtualThreadPerTaskExecutor);
+        }
+        System.out.println("[benchmark] virtual threads pinned over 20 ms: " + pinnedThreads.get());
+
+        assertThat(platformClockIns).isEqualTo(CLIENTS);
+        assertThat(virtualClockIns).isEqualTo(CLIENTS);
+    }
+
+    private int run(String name, Supplier<ExecutorService> requestThreads) throws Exception {
+        List<User> employees = new ArrayList<>(CLIENTS);
+        List<byte[]> photos = new ArrayList<>(CLIENTS);
+        Store store = null;
+        for (int i = 0; i < CLIENTS; i++) {
+            // Store.users is loaded eagerly with every clock-in, keep the stores at a realistic size
+            if (i % EMPLOYEES_PER_STORE == 0) {
+                store = fixtures.store();
+            }
+            employees.add(fixtures.employee(store));
+            photos.add(fixtures.photo());
+        }
+
+        SecurityContext employeeContext = SecurityContextHolder.createEmptyContext();
+        employeeContext.setAuthentication(new TestingAuthenticationToken("karyawan", "password", "ROLE_EMPLOYEE"));
+
+        AtomicInteger clockedIn = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> requests = new ArrayList<>(CLIENTS);
+        long startNanos;
+        try (ExecutorService pool = new DelegatingSecurityContextExecutorService(requestThreads.get(), employeeContext)) {
+            for (int i = 0; i < CLIENTS; i++) {
+                User employee = employees.get(i);
+                MockMultipartFile photo = new MockMultipartFile("photo", "photo.jpg", "image/jpeg", photos.get(i));
+                requests.add(pool.submit(() -> {
+                    start.await();
+                    attendanceController.addClockIn(employee.getUsername(), LocalDateTime.now(), photo, 0, 0);
+                    clockedIn.incrementAndGet();
+                    return null;
+                }));
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        }
+        Benchmark.throughput(name, clockedIn.get(), System.nanoTime() - startNanos);
+        return clockedIn.get();
+    }
+}
@@ -0,0 +1,103 @@
+package com.dev.attendo.repository;
+
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.SqlCapture;
+import com.dev.attendo.support.TestFixtures;
+import com.dev.attendo.utils.helper.DateRangeUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Half-open [start, end) ranges: boundaries of the period and the index each query is planned on (H2 EXPLAIN in MySQL mode).
+@IntegrationTest
+class DateRangePredicateTest {
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    LoanRepository loanRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void monthRangeIncludesFirstAndLastMomentAndExcludesNextMonth() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        fixtures.attendance(employee, store, LocalDateTime.of(2025, 1, 31, 23, 59, 59));
+        Attendance firstOfMonth = fixtures.attendance(employee, store, LocalDateTime.of(2025, 2, 1, 0, 0));
+        Attendance lastOfMonth = fixtures.attendance(employee, store, LocalDateTime.of(2025, 2, 28, 23, 59, 59));
+        fixtures.attendance(employee, store, LocalDateTime.of(2025, 3, 1, 0, 0));
+
+        List<Attendance> february = attendanceRepository.findByUserIdAndPeriod(employee.getId(), DateRangeUtils.startOfMonth(2025, 2), DateRangeUtils.startOfNextMonth(2025, 2));
+
+        assertThat(february).extracting(Attendance::getId).containsExactly(firstOfMonth.getId(), lastOfMonth.getId());
+    }
+
+    @Test
+    void dayRangeIncludesWholeDayAndExcludesNextDay() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        LocalDate day = LocalDate.of(2025, 2, 28);
+        Attendance startOfDay = fixtures.attendance(employee, store, day.atStartOfDay());
+        Attendance endOfDay = fixtures.attendance(employee, store, day.atTime(23, 59, 59));
+        fixtures.attendance(employee, store, day.plusDays(1).atStartOfDay());
+
+        List<Attendance> attendances = attendanceRepository.getTodayAttendances(store.getId(), null, "%", DateRangeUtils.startOfDay(day), DateRangeUtils.startOfNextDay(day), PageRequest.of(0, 10)).getContent();
+
+        assertThat(attendances).extracting(Attendance::getId).containsExactlyInAnyOrder(startOfDay.getId(), endOfDay.getId());
+    }
+
+    @Test
+    void attendanceRangesUseTheClockInIndexes() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+
+        String userPeriodQuery = captureSql("from attendance", () -> attendanceRepository.findByUserIdAndPeriod(employee.getId(), DateRangeUtils.startOfMonth(2025, 2), DateRangeUtils.startOfNextMonth(2025, 2)));
+        assertRangeOnIndex(userPeriodQuery, "idx_attendance_user_clock_in", "clock_in");
+
+        LocalDate day = LocalDate.of(2025, 2, 28);
+        String storeDayQuery = captureSql("from attendance", () -> attendanceRepository.getTodayAttendances(store.getId(), null, "%", DateRangeUtils.startOfDay(day), DateRangeUtils.startOfNextDay(day), PageRequest.of(0, 10)));
+        assertRangeOnIndex(storeDayQuery, "idx_attendance_store_clock_in", "clock_in");
+    }
+
+    @Test
+    void loanRangeUsesTheCreatedDateIndex() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+
+        String loanQuery = captureSql("from loan", () -> loanRepository.getLoanByUserAndStoreAndPeriod(employee.getId(), store.getId(), DateRangeUtils.startOfMonth(2025, 2), DateRangeUtils.startOfNextMonth(2025, 2)));
+        assertRangeOnIndex(loanQuery, "idx_loan_user_store_created", "created_date");
+    }
+
+    private String captureSql(String table, Runnable query) {
+        SqlCapture.clear();
+        query.run();
+        return SqlCapture.statements().stream()
+                .filter(sql -> sql.contains(table))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // Both range bounds must be part of the index condition, not a filter applied to rows after the lookup
+    private void assertRangeOnIndex(String sql, String indexName, String column) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        Pattern indexCondition = Pattern.compile("/\\* public\\." + indexName + ":[^/]*" + column + " >= \\?\\d+\\s+AND " + column + " < \\?\\d+");
+        assertThat(plan).containsPattern(indexCondition);
+    }
+}
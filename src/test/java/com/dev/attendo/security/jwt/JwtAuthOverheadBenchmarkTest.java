@@ -0,0 +1,59 @@
+package com.dev.attendo.security.jwt;
+
+import com.dev.attendo.security.service.UserDetailsImpl;
+import com.dev.attendo.support.Benchmark;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Token handling cost per authenticated request: the JwtUtils before the cached parser (key and parser built on every
+// call, validateJwtToken and getUsernameFromJwtToken each verifying the signature) against one getClaimsFromJwtToken.
+@Tag("benchmark")
+class JwtAuthOverheadBenchmarkTest {
+    private static final int WARMUP = 20_000;
+    private static final int OPERATIONS = 50_000;
+    private static final String JWT_SECRET = "dGVzdHNlY3JldHRlc3RzZWNyZXR0ZXN0c2VjcmV0dGVzdHNlY3JldHRlc3RzZWNyZXQ=";
+
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @BeforeEach
+    void issueToken() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        jwtUtils.init();
+        token = jwtUtils.generateTokenFromUsername(new UserDetailsImpl(1L, "karyawan", null, null, true, 1L, List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+    }
+
+    @Test
+    void authOverheadPerRequest() {
+        String[] subjects = new String[2];
+
+        Benchmark.measure("key + parser per call, two parses", WARMUP, OPERATIONS, i -> {
+            Jwts.parser().verifyWith(key()).build().parseSignedClaims(token);
+            subjects[0] = Jwts.parser().verifyWith(key()).build().parseSignedClaims(token).getPayload().getSubject();
+        });
+
+        Benchmark.measure("cached parser, getClaimsFromJwtToken", WARMUP, OPERATIONS, i ->
+                subjects[1] = jwtUtils.getClaimsFromJwtToken(token).getSubject());
+
+        assertThat(subjects).containsOnly("karyawan");
+    }
+
+    // The key() JwtUtils built for every call before the cached parser
+    private static SecretKey key() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(JWT_SECRET));
+    }
+}
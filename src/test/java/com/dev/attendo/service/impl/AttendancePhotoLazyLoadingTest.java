@@ -0,0 +1,57 @@
+package com.dev.attendo.service.impl;
+
+import com.dev.attendo.dtos.attendance.AttendanceDTO;
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.service.AttendanceService;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.SqlCapture;
+import com.dev.attendo.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class AttendancePhotoLazyLoadingTest {
+    // photo_in_key and photo_out_key are the pointer columns and may be selected, the blob columns may not
+    private static final Pattern PHOTO_BLOB_COLUMN = Pattern.compile("\\bphoto_(in|out)\\b");
+
+    @Autowired
+    AttendanceService attendanceService;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void attendanceListDoesNotSelectPhotoBlobs() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        LocalDateTime clockIn = LocalDateTime.of(2025, 3, 10, 8, 0);
+        for (int day = 0; day < 3; day++) {
+            Attendance attendance = fixtures.attendance(employee, store, clockIn.plusDays(day));
+            attendance.setPhotoIn(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1});
+            attendance.setPhotoOut(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 2});
+            attendanceRepository.save(attendance);
+        }
+
+        SqlCapture.clear();
+        List<AttendanceDTO> attendances = attendanceService.getAttendanceByMonthAndYear(employee.getId(), 3, 2025);
+
+        assertThat(attendances).hasSize(3);
+        List<String> attendanceQueries = SqlCapture.statements().stream()
+                .filter(sql -> sql.contains("attendance"))
+                .toList();
+        assertThat(attendanceQueries).isNotEmpty();
+        assertThat(attendanceQueries).noneMatch(sql -> PHOTO_BLOB_COLUMN.matcher(sql).find());
+    }
+}
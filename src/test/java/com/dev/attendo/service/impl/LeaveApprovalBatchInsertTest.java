@@ -0,0 +1,84 @@
+package com.dev.attendo.service.impl;
+
+import com.dev.attendo.model.LeaveApplication;
+import com.dev.attendo.model.Schedule;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.LeaveApplicationRepository;
+import com.dev.attendo.repository.ProfileRepository;
+import com.dev.attendo.repository.ScheduleRepository;
+import com.dev.attendo.service.LeaveApplicationService;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.SqlCapture;
+import com.dev.attendo.support.TestFixtures;
+import com.dev.attendo.utils.enums.ApprovalStatusEnum;
+import com.dev.attendo.utils.enums.LeaveTypeEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class LeaveApprovalBatchInsertTest {
+    private static final int LEAVE_DAYS = 30;
+
+    @Autowired
+    LeaveApplicationService leaveApplicationService;
+
+    @Autowired
+    LeaveApplicationRepository leaveApplicationRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    ProfileRepository profileRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void approvedLeaveInsertsItsAttendancesInOneJdbcBatch() {
+        Store store = fixtures.store();
+        User applicant = fixtures.employee(store);
+        User approver = fixtures.employee(store);
+        Schedule schedule = new Schedule();
+        schedule.setName("Pagi");
+        schedule.setStartTime(LocalTime.of(8, 0));
+        schedule.setEndTime(LocalTime.of(16, 0));
+        schedule.setStore(store);
+        applicant.getProfile().setSchedule(scheduleRepository.save(schedule));
+        profileRepository.save(applicant.getProfile());
+
+        LeaveApplication leaveApplication = new LeaveApplication();
+        leaveApplication.setStatus(ApprovalStatusEnum.PENDING);
+        leaveApplication.setType(LeaveTypeEnum.SICK);
+        leaveApplication.setStartDate(LocalDate.of(2024, 9, 1));
+        leaveApplication.setEndDate(LocalDate.of(2024, 9, LEAVE_DAYS));
+        leaveApplication.setDescription("Cuti");
+        leaveApplication.setUser(applicant);
+        leaveApplication.setStore(store);
+        leaveApplication = leaveApplicationRepository.save(leaveApplication);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlCapture.clear();
+        leaveApplicationService.updateLeaveApplication(leaveApplication.getId(), approver.getUsername(), ApprovalStatusEnum.APPROVED.name());
+
+        long attendanceInserts = SqlCapture.statements().stream()
+                .filter(sql -> sql.startsWith("insert into attendance "))
+                .count();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(LEAVE_DAYS);
+        // One prepared INSERT for all rows, executed as a single batch
+        assertThat(attendanceInserts).isEqualTo(1);
+    }
+}
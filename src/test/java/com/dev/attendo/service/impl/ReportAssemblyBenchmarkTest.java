@@ -0,0 +1,170 @@
+package com.dev.attendo.service.impl;
+
+import com.dev.attendo.dtos.report.FrequentlyLateReportDTO;
+import com.dev.attendo.dtos.report.LateSummaryRow;
+import com.dev.attendo.dtos.report.MonthlyCountDTO;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.support.Benchmark;
+import com.dev.attendo.utils.helper.AttendanceSummaryBackfill;
+import com.dev.attendo.utils.helper.ReportExecutor;
+import com.dev.attendo.utils.helper.ReportSliceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Assembly of the frequently late report over 10k employee-month rows, the database and cache left out: the
+// List<Object[]> + LinkedHashMap assembly before the typed rows (month labels formatted and parsed per row) against
+// ReportServiceImpl.getFrequentlyLateReport reading LateSummaryRow into month arrays. The service side also pays
+// for its three stubbed lookups, a few microseconds next to the rows.
+@Tag("benchmark")
+class ReportAssemblyBenchmarkTest {
+    private static final int WARMUP = 200;
+    private static final int OPERATIONS = 1_000;
+    private static final int ROWS = 10_000;
+    private static final int PERIOD = 12;
+
+    private final ReportServiceImpl reportService = new ReportServiceImpl();
+
+    private List<LateSummaryRow> rows;
+
+    private List<Object[]> objectRows;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void stubDependencies() {
+        // Employee-months spread evenly over the period, the same figures as typed and as Object[] rows
+        YearMonth startMonth = YearMonth.now().minusMonths(PERIOD - 1);
+        Random random = new Random(42);
+        rows = new ArrayList<>(ROWS);
+        objectRows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long userId = i / PERIOD + 1;
+            YearMonth month = startMonth.plusMonths(i % PERIOD);
+            int lateCount = random.nextInt(20) + 1;
+            int lateMinutes = lateCount * (random.nextInt(30) + 1);
+            rows.add(new LateSummaryRow(userId, month.atDay(1), "karyawan" + userId, lateCount, lateMinutes));
+            objectRows.add(new Object[]{userId, month.getYear(), month.getMonthValue(), "karyawan" + userId, lateCount, lateMinutes});
+        }
+
+        Store store = new Store();
+        store.setId(1L);
+        reportService.storeRepository = mock(StoreRepository.class, withSettings().stubOnly());
+        when(reportService.storeRepository.findById(any())).thenReturn(Optional.of(store));
+        reportService.attendanceSummaryBackfill = mock(AttendanceSummaryBackfill.class, withSettings().stubOnly());
+        when(reportService.attendanceSummaryBackfill.isCompleted()).thenReturn(true);
+        reportService.reportExecutor = mock(ReportExecutor.class, withSettings().stubOnly());
+        when(reportService.reportExecutor.execute(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        reportService.reportSliceCache = mock(ReportSliceCache.class, withSettings().stubOnly());
+        when(reportService.reportSliceCache.getMonthlyRows(any(), any(), any(), any(), any(), any())).thenReturn((List) rows);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void frequentlyLateReportAssembly() {
+        Map<String, Object>[] before = new Map[1];
+        FrequentlyLateReportDTO[] after = new FrequentlyLateReportDTO[1];
+
+        Benchmark.measure("Object[] rows, LinkedHashMap assembly", WARMUP, OPERATIONS, i ->
+                before[0] = objectRowAssembly(objectRows, PERIOD));
+
+        Benchmark.measure("LateSummaryRow, month arrays", WARMUP, OPERATIONS, i ->
+                after[0] = reportService.getFrequentlyLateReport(1L, PERIOD));
+
+        assertThat(after[0].totalEmployeesLate()).isEqualTo(before[0].get("totalEmployeesLate"));
+        assertThat(after[0].totalLateCount()).isEqualTo(((Number) before[0].get("totalLateCount")).longValue());
+        assertThat(after[0].totalLateMinutes()).isEqualTo(((Number) before[0].get("totalLateMinutes")).longValue());
+        assertThat(after[0].totalLateHours()).isEqualTo(before[0].get("totalLateHours"));
+        List<Map<String, Object>> beforeDistribution = (List<Map<String, Object>>) before[0].get("monthlyLateDistribution");
+        assertThat(after[0].monthlyLateDistribution())
+                .extracting(MonthlyCountDTO::month, MonthlyCountDTO::count)
+                .containsExactlyElementsOf(beforeDistribution.stream()
+                        .map(month -> tuple(month.get("month"), month.get("count")))
+                        .toList());
+    }
+
+    // The body of getFrequentlyLateReport before the typed rows, from the query result on
+    private static Map<String, Object> objectRowAssembly(List<Object[]> result, int period) {
+        LocalDate currentDate = LocalDate.now();
+        LocalDate startDate = currentDate.minusMonths(period - 1).withDayOfMonth(1);
+
+        List<Map<String, Object>> employeeStats = new ArrayList<>();
+        Map<String, Long> monthlyLateMapping = new LinkedHashMap<>();
+        int totalLateCount = 0;
+        int totalLateMinutes = 0;
+
+        for (Object[] row : result) {
+            Long userId = ((Number) row[0]).longValue();
+            int year = ((Number) row[1]).intValue();
+            int month = ((Number) row[2]).intValue();
+            String username = (String) row[3];
+            long lateCount = ((Number) row[4]).longValue();
+            long lateInMinutes = ((Number) row[5]).longValue();
+
+            totalLateCount += (int) lateCount;
+            totalLateMinutes += (int) lateInMinutes;
+
+            Map<String, Object> employee = new LinkedHashMap<>();
+            employee.put("userId", userId);
+            employee.put("username", username);
+            employee.put("lateCount", lateCount);
+            employee.put("lateInMinutes", lateInMinutes);
+            employeeStats.add(employee);
+
+            YearMonth ym = YearMonth.of(year, month);
+            String monthLabel = ym.format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
+            monthlyLateMapping.merge(monthLabel, lateCount, Long::sum);
+        }
+
+        List<Map<String, Object>> top5 = employeeStats.stream()
+                .sorted((a, b) -> Long.compare(
+                        (Long) b.get("lateCount"),
+                        (Long) a.get("lateCount")
+                ))
+                .limit(5)
+                .toList();
+
+        LocalDate tempDate = startDate;
+        while (!tempDate.isAfter(currentDate)) {
+            String label = YearMonth.of(tempDate.getYear(), tempDate.getMonthValue()).format(DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH));
+            monthlyLateMapping.putIfAbsent(label, 0L);
+            tempDate = tempDate.plusMonths(1);
+        }
+
+        List<Map<String, Object>> monthlyLateDistribution = monthlyLateMapping.entrySet().stream()
+                .sorted(Comparator.comparing(entry ->
+                        YearMonth.parse(entry.getKey(), DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH))
+                ))
+                .map(entry -> {
+                    Map<String, Object> obj = new LinkedHashMap<>();
+                    obj.put("month", entry.getKey());
+                    obj.put("count", entry.getValue());
+                    return obj;
+                })
+                .toList();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("totalEmployeesLate", employeeStats.size());
+        summary.put("totalLateCount", totalLateCount);
+        summary.put("totalLateMinutes", totalLateMinutes);
+        summary.put("totalLateHours", BigDecimal.valueOf(totalLateMinutes / 60.0).setScale(1, RoundingMode.HALF_UP));
+        summary.put("top5LateEmployees", top5);
+        summary.put("monthlyLateDistribution", monthlyLateDistribution);
+        return summary;
+    }
+}
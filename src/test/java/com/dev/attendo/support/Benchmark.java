@@ -0,0 +1,45 @@
+package com.dev.attendo.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+// Minimal timing and allocation harness for the @Tag("benchmark") tests, run them with mvn test -Pbenchmark.
+// Numbers are indicative (single JVM, no forking), they are printed for comparison between variants of one test.
+public class Benchmark {
+    private static final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public record Result(String name, int operations, double nanosPerOperation, double bytesPerOperation, double operationsPerSecond) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %10.0f ns/op %10.0f B/op %12.0f ops/s", name, nanosPerOperation, bytesPerOperation, operationsPerSecond);
+        }
+    }
+
+    // Runs operation(i) warmup times, then measures it over the given number of operations on the calling thread.
+    public static Result measure(String name, int warmup, int operations, IntConsumer operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.accept(i);
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            operation.accept(i);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Result result = new Result(name, operations, (double) elapsedNanos / operations, (double) allocatedBytes / operations, operations * 1_000_000_000.0 / elapsedNanos);
+        System.out.println("[benchmark] " + result);
+        return result;
+    }
+
+    // Throughput of work spread over several threads, elapsed wall time only.
+    public static Result throughput(String name, int operations, long elapsedNanos) {
+        Result result = new Result(name, operations, (double) elapsedNanos / operations, Double.NaN, operations * 1_000_000_000.0 / elapsedNanos);
+        System.out.println("[benchmark] " + result);
+        return result;
+    }
+}
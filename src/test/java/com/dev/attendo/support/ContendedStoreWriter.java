@@ -0,0 +1,72 @@
+package com.dev.attendo.support;
+
+import com.dev.attendo.model.Store;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.utils.helper.RetryOnOptimisticLock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-modify-write of one Store row, the shape of the @RetryOnOptimisticLock service methods, under optimistic and
+// pessimistic locking. Each write adds 1 to Store.radius, so a lost update shows up in the final value.
+@TestComponent
+public class ContendedStoreWriter {
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private volatile int forcedConflicts;
+
+    // The first conflictCount attempts from now on lose their write to a concurrent transaction
+    public void forceConflicts(int conflictCount) {
+        attempts.set(0);
+        forcedConflicts = conflictCount;
+    }
+
+    public int attempts() {
+        return attempts.get();
+    }
+
+    @RetryOnOptimisticLock
+    @Transactional
+    public void incrementOptimistic(Long storeId) {
+        Store store = storeRepository.findById(storeId).orElseThrow();
+        if (attempts.incrementAndGet() <= forcedConflicts) {
+            concurrentRename(storeId);
+        }
+        store.setRadius(store.getRadius() + 1);
+        storeRepository.save(store);
+    }
+
+    // SELECT ... FOR UPDATE, writers queue on the row lock instead of failing at commit
+    @Transactional
+    public void incrementLocked(Long storeId) {
+        Store store = entityManager.find(Store.class, storeId, LockModeType.PESSIMISTIC_WRITE);
+        store.setRadius(store.getRadius() + 1);
+    }
+
+    private void concurrentRename(Long storeId) {
+        TransactionTemplate concurrentTransaction = new TransactionTemplate(transactionManager);
+        concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        concurrentTransaction.executeWithoutResult(status -> {
+            Store store = storeRepository.findById(storeId).orElseThrow();
+            store.setName(store.getName() + "'");
+            storeRepository.save(store);
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.dev.attendo.support;
+
+import com.dev.attendo.model.*;
+import com.dev.attendo.repository.*;
+import com.dev.attendo.utils.enums.AttendanceStatusEnum;
+import com.dev.attendo.utils.enums.AttendanceTypeEnum;
+import com.dev.attendo.utils.enums.RoleEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tests share one database, every fixture gets unique names so tests do not see each other's rows.
+@TestComponent
+public class TestFixtures {
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    ProfileRepository profileRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    SalaryRepository salaryRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    public Store store() {
+        Store store = new Store();
+        store.setName("Toko " + sequence.incrementAndGet());
+        store.setAddress("Jl. Pengujian");
+        store.setRadius(100);
+        store.setBreakDuration(60);
+        store.setMaxBreakCount(2);
+        store.setActive(true);
+        return storeRepository.save(store);
+    }
+
+    public User employee(Store store) {
+        int number = sequence.incrementAndGet();
+        Schedule schedule = new Schedule();
+        schedule.setName("Shift " + number);
+        schedule.setStartTime(LocalTime.of(8, 0));
+        schedule.setEndTime(LocalTime.of(17, 0));
+        schedule.setLateTolerance(15);
+        schedule.setStore(store);
+        scheduleRepository.save(schedule);
+
+        Profile profile = new Profile();
+        profile.setName("Karyawan " + number);
+        profile.setAddress("Jl. Pengujian");
+        profile.setPhoneNumber("0800000" + number);
+        profile.setSchedule(schedule);
+        profileRepository.save(profile);
+
+        Role employeeRole = roleRepository.findByName(RoleEnum.ROLE_EMPLOYEE).orElseThrow();
+        User user = new User("karyawan" + number, "karyawan" + number + "@example.com", "password", employeeRole, true);
+        user.setProfile(profile);
+        user.setStore(store);
+        return userRepository.save(user);
+    }
+
+    public Attendance attendance(User user, Store store, LocalDateTime clockIn) {
+        Attendance attendance = new Attendance();
+        attendance.setType(AttendanceTypeEnum.DAILY);
+        attendance.setStatus(AttendanceStatusEnum.PRESENT);
+        attendance.setClockIn(clockIn);
+        attendance.setUser(user);
+        attendance.setStore(store);
+        return attendanceRepository.save(attendance);
+    }
+
+    public Salary salary(User user, Store store, int amount, LocalDate effectiveDate) {
+        Salary salary = new Salary();
+        salary.setAmount(amount);
+        salary.setEffectiveDate(effectiveDate);
+        salary.setUser(user);
+        salary.setStore(store);
+        return salaryRepository.save(salary);
+    }
+
+    // JPEG with random pixels, so its content-addressed key was never stored before
+    public byte[] photo() {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return content.toByteArray();
+    }
+}
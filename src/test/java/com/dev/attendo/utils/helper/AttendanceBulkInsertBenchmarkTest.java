@@ -0,0 +1,94 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.support.Benchmark;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import com.dev.attendo.utils.enums.AttendanceStatusEnum;
+import com.dev.attendo.utils.enums.AttendanceTypeEnum;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bulk write throughput of AttendanceBulkWriter (pooled ids, JDBC batches) against one INSERT executed per row,
+// which is what IDENTITY ids forced: the row had to be inserted on save to learn its id. One operation is one
+// transaction writing ROWS attendances, the size of a month of leave.
+@Tag("benchmark")
+@IntegrationTest
+class AttendanceBulkInsertBenchmarkTest {
+    private static final int ROWS = 30;
+    private static final int WARMUP = 50;
+    private static final int OPERATIONS = 200;
+
+    @Autowired
+    AttendanceBulkWriter attendanceBulkWriter;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void batchedInsertAgainstInsertPerRow() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        insertPerRow(employee, store);
+        long perRowStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        attendanceBulkWriter.insertAll(leaveAttendances(employee, store));
+        long batchedStatements = statistics.getPrepareStatementCount();
+        System.out.println("[benchmark] prepared statements per " + ROWS + " rows: insert per row " + perRowStatements + ", batched " + batchedStatements);
+
+        Benchmark.measure("insert per row x" + ROWS, WARMUP, OPERATIONS, i -> insertPerRow(employee, store));
+        Benchmark.measure("pooled ids + batch x" + ROWS, WARMUP, OPERATIONS, i -> attendanceBulkWriter.insertAll(leaveAttendances(employee, store)));
+
+        assertThat(batchedStatements).isLessThan(perRowStatements);
+    }
+
+    private void insertPerRow(User employee, Store store) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Attendance attendance : leaveAttendances(employee, store)) {
+                attendanceRepository.saveAndFlush(attendance);
+            }
+        });
+    }
+
+    private List<Attendance> leaveAttendances(User employee, Store store) {
+        LocalDateTime clockIn = LocalDateTime.of(2024, 10, 1, 8, 0);
+        List<Attendance> attendances = new ArrayList<>(ROWS);
+        for (int day = 0; day < ROWS; day++) {
+            Attendance attendance = new Attendance();
+            attendance.setType(AttendanceTypeEnum.LEAVE);
+            attendance.setStatus(AttendanceStatusEnum.LEAVE);
+            attendance.setClockIn(clockIn.plusDays(day));
+            attendance.setClockOut(clockIn.plusDays(day).plusHours(8));
+            attendance.setUser(employee);
+            attendance.setStore(store);
+            attendances.add(attendance);
+        }
+        return attendances;
+    }
+}
@@ -0,0 +1,167 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.dtos.report.FrequentlyLateReportDTO;
+import com.dev.attendo.dtos.salary.PayrollFigures;
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.repository.DataBackfillRepository;
+import com.dev.attendo.repository.MonthlyAttendanceSummaryRepository;
+import com.dev.attendo.service.ReportService;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import com.dev.attendo.utils.enums.AttendanceStatusEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Attendances saved straight through the repository stand in for rows written before monthly_attendance_summary existed.
+@IntegrationTest
+class AttendanceSummaryBackfillTest {
+
+    @Autowired
+    AttendanceSummaryBackfill attendanceSummaryBackfill;
+
+    @Autowired
+    PayrollCalculator payrollCalculator;
+
+    @Autowired
+    ReportService reportService;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    MonthlyAttendanceSummaryRepository monthlyAttendanceSummaryRepository;
+
+    @Autowired
+    DataBackfillRepository dataBackfillRepository;
+
+    @Autowired
+    AttendanceSummaryUpdater attendanceSummaryUpdater;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @AfterEach
+    void completeBackfill() {
+        ReflectionTestUtils.setField(attendanceSummaryBackfill, "completed", true);
+    }
+
+    @Test
+    void startupMarksBackfillCompleted() {
+        assertThat(attendanceSummaryBackfill.isCompleted()).isTrue();
+        assertThat(dataBackfillRepository.existsById(AttendanceSummaryBackfill.NAME)).isTrue();
+    }
+
+    @Test
+    void payrollFallsBackToAttendancesOfUnsummarizedMonth() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        fixtures.salary(employee, store, 100_000, LocalDate.of(2024, 1, 1));
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 5, 2, 8, 0), AttendanceStatusEnum.PRESENT);
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 5, 3, 8, 0), AttendanceStatusEnum.LATE);
+
+        PayrollFigures figures = payrollCalculator.calculate(employee.getId(), store.getId(), null, 2024, 5);
+
+        assertThat(figures.validAttendancesCount()).isEqualTo(2L);
+        assertThat(figures.totalDeduction()).isEqualTo(5_000L);
+        assertThat(figures.totalSalary()).isEqualTo(195_000);
+    }
+
+    @Test
+    void payrollReadsSummaryOnceMonthIsPresent() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        fixtures.salary(employee, store, 100_000, LocalDate.of(2024, 1, 1));
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 6, 3, 8, 0), AttendanceStatusEnum.PRESENT);
+        attendanceSummaryBackfill.fillStore(store.getId(), YearMonth.of(2024, 6), YearMonth.of(2024, 6));
+
+        // Changed behind the summary's back, so only a read of the summary row still sees one attendance
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 6, 4, 8, 0), AttendanceStatusEnum.PRESENT);
+        PayrollFigures figures = payrollCalculator.calculate(employee.getId(), store.getId(), null, 2024, 6);
+
+        assertThat(figures.validAttendancesCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void reportSummarizesMissingMonthsUntilBackfillCompletes() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        LocalDateTime lastMonth = YearMonth.now().minusMonths(1).atDay(2).atTime(8, 0);
+        legacyAttendance(employee, store, lastMonth, AttendanceStatusEnum.LATE);
+        legacyAttendance(employee, store, lastMonth.plusDays(1), AttendanceStatusEnum.LATE);
+        ReflectionTestUtils.setField(attendanceSummaryBackfill, "completed", false);
+
+        FrequentlyLateReportDTO report = reportService.getFrequentlyLateReport(store.getId(), 3);
+
+        assertThat(report.totalLateCount()).isEqualTo(2L);
+        assertThat(monthlyAttendanceSummaryRepository.findByStoreIdAndUserIdAndPeriodStart(store.getId(), employee.getId(),
+                YearMonth.from(lastMonth).atDay(1))).isPresent();
+    }
+
+    @Test
+    void backfillRunsAgainUntilMarkedAndSkipsAfterwards() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 7, 1, 8, 0), AttendanceStatusEnum.LATE);
+        dataBackfillRepository.deleteById(AttendanceSummaryBackfill.NAME);
+        ReflectionTestUtils.setField(attendanceSummaryBackfill, "completed", false);
+
+        attendanceSummaryBackfill.run();
+
+        assertThat(attendanceSummaryBackfill.isCompleted()).isTrue();
+        assertThat(dataBackfillRepository.existsById(AttendanceSummaryBackfill.NAME)).isTrue();
+        assertThat(monthlyAttendanceSummaryRepository.findByStoreIdAndUserIdAndPeriodStart(store.getId(), employee.getId(), LocalDate.of(2024, 7, 1)))
+                .hasValueSatisfying(summary -> assertThat(summary.getLateCount()).isEqualTo(1));
+
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 8, 1, 8, 0), AttendanceStatusEnum.LATE);
+        attendanceSummaryBackfill.run();
+
+        assertThat(monthlyAttendanceSummaryRepository.findByStoreIdAndUserIdAndPeriodStart(store.getId(), employee.getId(), LocalDate.of(2024, 8, 1)))
+                .isEmpty();
+    }
+
+    @Test
+    void summaryInsertedMeanwhileIsOverwrittenInsteadOfFailing() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        legacyAttendance(employee, store, LocalDateTime.of(2024, 9, 2, 8, 0), AttendanceStatusEnum.LATE);
+        attendanceSummaryUpdater.refresh(employee.getId(), store.getId(), YearMonth.of(2024, 9));
+
+        // A second refresh that found no row and inserts under its own id, as when the backfill and a clock-in race
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                monthlyAttendanceSummaryRepository.upsert(Long.MAX_VALUE, store.getId(), employee.getId(), LocalDate.of(2024, 9, 1),
+                        1, 2, 30, 10_000, 0, 0, LocalDateTime.now()));
+
+        assertThat(monthlyAttendanceSummaryRepository.findByStoreIdAndUserIdAndPeriodStart(store.getId(), employee.getId(), LocalDate.of(2024, 9, 1)))
+                .hasValueSatisfying(summary -> {
+                    assertThat(summary.getId()).isNotEqualTo(Long.MAX_VALUE);
+                    assertThat(summary.getLateCount()).isEqualTo(2);
+                    assertThat(summary.getTotalDeduction()).isEqualTo(10_000);
+                });
+    }
+
+    private void legacyAttendance(User employee, Store store, LocalDateTime clockIn, AttendanceStatusEnum status) {
+        Attendance attendance = fixtures.attendance(employee, store, clockIn);
+        attendance.setStatus(status);
+        if (status == AttendanceStatusEnum.LATE) {
+            attendance.setLateInMinutes(15);
+            attendance.setDeductionAmount(5_000);
+        }
+        attendanceRepository.save(attendance);
+    }
+}
@@ -0,0 +1,147 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.exception.BadRequestException;
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.service.AttendanceService;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class BreakSlotAdmissionTest {
+    private static final int REQUEST_COUNT = 500;
+
+    @Autowired
+    BreakSlotAdmission breakSlotAdmission;
+
+    @Autowired
+    AttendanceService attendanceService;
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void parallelBreakInsNeverOvershootMaxBreakCount() throws Exception {
+        Store store = fixtures.store();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>(REQUEST_COUNT);
+        try (ExecutorService requests = Executors.newFixedThreadPool(64)) {
+            for (int i = 0; i < REQUEST_COUNT; i++) {
+                results.add(requests.submit(() -> {
+                    start.await();
+                    return breakSlotAdmission.tryAcquire(store.getId());
+                }));
+            }
+            start.countDown();
+        }
+
+        long admitted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                admitted++;
+            }
+        }
+        assertThat(admitted).isEqualTo(store.getMaxBreakCount());
+        assertThat(currentBreakCount(store)).isEqualTo(store.getMaxBreakCount());
+    }
+
+    @Test
+    void savingStaleStoreKeepsBreakCount() {
+        Store store = fixtures.store();
+        Store staleStore = storeRepository.findById(store.getId()).orElseThrow();
+        breakSlotAdmission.tryAcquire(store.getId());
+
+        staleStore.setName(staleStore.getName() + " Baru");
+        storeRepository.save(staleStore);
+
+        assertThat(currentBreakCount(store)).isEqualTo(1);
+    }
+
+    @Test
+    void secondBreakInWhileOnBreakIsRejected() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        Attendance attendance = fixtures.attendance(employee, store, LocalDateTime.now().minusHours(2));
+        attendanceService.breakIn(attendance.getId(), LocalDateTime.now().minusHours(1));
+
+        assertThatThrownBy(() -> attendanceService.breakIn(attendance.getId(), LocalDateTime.now()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(currentBreakCount(store)).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedBreakOutReleasesOnlyItsOwnSlot() {
+        Store store = fixtures.store();
+        Attendance first = fixtures.attendance(fixtures.employee(store), store, LocalDateTime.now().minusHours(2));
+        Attendance second = fixtures.attendance(fixtures.employee(store), store, LocalDateTime.now().minusHours(2));
+        attendanceService.breakIn(first.getId(), LocalDateTime.now().minusMinutes(30));
+        attendanceService.breakIn(second.getId(), LocalDateTime.now().minusMinutes(20));
+
+        attendanceService.breakOut(first.getId(), LocalDateTime.now());
+        assertThat(currentBreakCount(store)).isEqualTo(1);
+
+        assertThatThrownBy(() -> attendanceService.breakOut(first.getId(), LocalDateTime.now()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(currentBreakCount(store)).isEqualTo(1);
+    }
+
+    @Test
+    void breakOutWithoutBreakInIsRejected() {
+        Store store = fixtures.store();
+        Attendance onBreak = fixtures.attendance(fixtures.employee(store), store, LocalDateTime.now().minusHours(2));
+        Attendance working = fixtures.attendance(fixtures.employee(store), store, LocalDateTime.now().minusHours(2));
+        attendanceService.breakIn(onBreak.getId(), LocalDateTime.now().minusMinutes(30));
+
+        assertThatThrownBy(() -> attendanceService.breakOut(working.getId(), LocalDateTime.now()))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(currentBreakCount(store)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileGivesBackLeakedSlots() {
+        Store store = fixtures.store();
+        Attendance onBreak = fixtures.attendance(fixtures.employee(store), store, LocalDate.now().atStartOfDay());
+        attendanceService.breakIn(onBreak.getId(), LocalDateTime.now());
+        // A slot taken by a break-in that crashed before its attendance row was written
+        breakSlotAdmission.tryAcquire(store.getId());
+        assertThat(breakSlotAdmission.tryAcquire(store.getId())).isFalse();
+
+        assertThat(breakSlotAdmission.reconcile(store.getId())).isEqualTo(1);
+        assertThat(currentBreakCount(store)).isEqualTo(1);
+        assertThat(breakSlotAdmission.reconcile(store.getId())).isZero();
+    }
+
+    @Test
+    void reconcileFreesBreaksLeftOpenOnEarlierDays() {
+        Store store = fixtures.store();
+        Attendance yesterday = fixtures.attendance(fixtures.employee(store), store, LocalDateTime.now().minusDays(1));
+        attendanceService.breakIn(yesterday.getId(), LocalDateTime.now().minusDays(1).plusHours(1));
+
+        breakSlotAdmission.reconcile(store.getId());
+
+        assertThat(currentBreakCount(store)).isZero();
+    }
+
+    private int currentBreakCount(Store store) {
+        return storeRepository.findById(store.getId()).orElseThrow().getCurrentBreakCount();
+    }
+}
@@ -0,0 +1,211 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.EmailOutbox;
+import com.dev.attendo.repository.EmailOutboxRepository;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.utils.enums.EmailOutboxStatusEnum;
+import com.dev.attendo.utils.enums.TokenTypeEnum;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class EmailOutboxDispatcherTest {
+
+    @Autowired
+    EmailService emailService;
+
+    @Autowired
+    EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${spring.app.emailMaxAttempts}")
+    int maxAttempts;
+
+    @Value("${spring.app.emailRetryBackoffMs}")
+    long retryBackoffMs;
+
+    GreenMail smtpServer = new GreenMail(ServerSetupTest.SMTP);
+
+    @BeforeEach
+    void drainOutbox() {
+        // Other tests may have queued emails, start every test from an outbox without due rows
+        smtpServer.start();
+        emailOutboxDispatcher.dispatchDueEmails();
+    }
+
+    @AfterEach
+    void stopServer() {
+        smtpServer.stop();
+    }
+
+    @Test
+    void queuedEmailIsDeliveredOnce() throws Exception {
+        String recipient = queueEmail();
+
+        emailOutboxDispatcher.dispatchDueEmails();
+        emailOutboxDispatcher.dispatchDueEmails();
+
+        assertThat(receivedBy(recipient)).hasSize(1);
+        EmailOutbox email = findByRecipient(recipient);
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatusEnum.SENT);
+        assertThat(email.getSentDate()).isNotNull();
+        assertThat(email.getAttempts()).isZero();
+    }
+
+    @Test
+    void failedEmailIsRetriedAfterBackoff() throws Exception {
+        smtpServer.stop();
+        String recipient = queueEmail();
+
+        LocalDateTime beforeDispatch = LocalDateTime.now();
+        emailOutboxDispatcher.dispatchDueEmails();
+
+        EmailOutbox email = findByRecipient(recipient);
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatusEnum.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isNotBlank();
+        assertThat(email.getNextAttemptDate()).isAfterOrEqualTo(beforeDispatch.plusNanos(retryBackoffMs * 1_000_000));
+
+        // Not due yet, the backoff keeps it out of the next run even with the server back
+        smtpServer.start();
+        emailOutboxDispatcher.dispatchDueEmails();
+        assertThat(receivedBy(recipient)).isEmpty();
+        assertThat(findByRecipient(recipient).getAttempts()).isEqualTo(1);
+
+        makeDue(recipient);
+        emailOutboxDispatcher.dispatchDueEmails();
+        assertThat(receivedBy(recipient)).hasSize(1);
+        assertThat(findByRecipient(recipient).getStatus()).isEqualTo(EmailOutboxStatusEnum.SENT);
+    }
+
+    @Test
+    void emailIsGivenUpAfterMaxAttempts() {
+        smtpServer.stop();
+        String recipient = queueEmail();
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            makeDue(recipient);
+            emailOutboxDispatcher.dispatchDueEmails();
+            assertThat(findByRecipient(recipient).getAttempts()).isEqualTo(attempt);
+        }
+
+        EmailOutbox email = findByRecipient(recipient);
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatusEnum.FAILED);
+
+        // A failed email is never picked up again
+        makeDue(recipient);
+        emailOutboxDispatcher.dispatchDueEmails();
+        assertThat(findByRecipient(recipient).getAttempts()).isEqualTo(maxAttempts);
+    }
+
+    @Test
+    void emailClaimedByAnotherInstanceIsSkipped() throws Exception {
+        String recipient = queueEmail();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Another dispatcher holding the row lock of its claim
+        Thread otherInstance = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            assertThat(emailOutboxRepository.findDueEmails(LocalDateTime.now(), PageRequest.of(0, 100)))
+                    .anyMatch(email -> email.getRecipient().equals(recipient));
+            claimed.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        otherInstance.start();
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            emailOutboxDispatcher.dispatchDueEmails();
+            assertThat(receivedBy(recipient)).isEmpty();
+        } finally {
+            release.countDown();
+            otherInstance.join();
+        }
+
+        emailOutboxDispatcher.dispatchDueEmails();
+        assertThat(receivedBy(recipient)).hasSize(1);
+    }
+
+    @Test
+    void claimedEmailIsHiddenUntilTheLeaseExpires() {
+        String recipient = queueEmail();
+        smtpServer.stop();
+
+        // The claim of a dispatcher that died while sending: the row was leased but never marked sent or failed
+        transactionTemplate.executeWithoutResult(status -> {
+            EmailOutbox email = findByRecipient(recipient);
+            email.setNextAttemptDate(LocalDateTime.now().plusMinutes(5));
+            emailOutboxRepository.save(email);
+        });
+        assertThat(findDueEmails(LocalDateTime.now())).noneMatch(email -> email.getRecipient().equals(recipient));
+        assertThat(findDueEmails(LocalDateTime.now().plusMinutes(6))).anyMatch(email -> email.getRecipient().equals(recipient));
+    }
+
+    private List<EmailOutbox> findDueEmails(LocalDateTime currentDate) {
+        return transactionTemplate.execute(status -> emailOutboxRepository.findDueEmails(currentDate, PageRequest.of(0, 100)));
+    }
+
+    private String queueEmail() {
+        String recipient = "outbox-" + UUID.randomUUID() + "@example.com";
+        transactionTemplate.executeWithoutResult(status -> emailService.queueActionEmail(TokenTypeEnum.EMAIL_VERIFICATION, recipient, Map.of(
+                "username", "tester",
+                "actionUrl", "http://localhost/email-verification?token=test",
+                "expiredMinutes", "30"
+        )));
+        return recipient;
+    }
+
+    private void makeDue(String recipient) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EmailOutbox email = findByRecipient(recipient);
+            email.setNextAttemptDate(LocalDateTime.now().minusSeconds(1));
+            emailOutboxRepository.save(email);
+        });
+    }
+
+    private EmailOutbox findByRecipient(String recipient) {
+        return emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<MimeMessage> receivedBy(String recipient) throws Exception {
+        return Arrays.stream(smtpServer.getReceivedMessages())
+                .filter(message -> {
+                    try {
+                        return Arrays.stream(message.getAllRecipients()).anyMatch(address -> address.toString().equals(recipient));
+                    } catch (Exception e) {
+                        return false;
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.support.Benchmark;
+import com.dev.attendo.utils.enums.TokenTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Render cost and allocation per email: compiled templates against the String.formatted text block they replaced.
+@Tag("benchmark")
+class EmailTemplateRenderBenchmarkTest {
+    private static final int WARMUP = 20_000;
+    private static final int OPERATIONS = 100_000;
+
+    // The inline layout EmailService formatted on every send before the template registry
+    private static final String FORMATTED_LAYOUT = """
+                <html>
+                  <body style="font-family: Arial, sans-serif; background-color: #f6f9fc; padding: 20px;">
+                    <div style="max-width: 600px; margin: 0 auto; background: white; border-radius: 8px; padding: 30px; box-shadow: 0 2px 8px rgba(0,0,0,0.1);">
+                      <h2 style="color: #2c3e50;">%s</h2>
+                      <p>Hello, <b>%s</b>,</p>
+                      <p>%s</p>
+                      <p style="text-align: center; margin: 30px 0;">
+                        <a href="%s" style="background-color: #007bff; color: white; text-decoration: none; padding: 12px 25px; border-radius: 5px; display: inline-block;">
+                          %s
+                        </a>
+                      </p>
+                      <p>If you didn’t request this, please ignore this email.</p>
+                      <hr style="margin: 30px 0; border: none; border-top: 1px solid #eee;">
+                      <p style="font-size: 12px; color: #999;">This link will expire in %s.</p>
+                      <div style="text-align: right; margin-top: 30px;">
+                        <p style="font-size: 11px; color: #aaa;">© 2025 Attendo. All rights reserved.</p>
+                      </div>
+                    </div>
+                  </body>
+                </html>
+            """;
+
+    private EmailTemplateRegistry emailTemplateRegistry;
+
+    @BeforeEach
+    void loadTemplates() throws Exception {
+        emailTemplateRegistry = new EmailTemplateRegistry();
+        ReflectionTestUtils.setField(emailTemplateRegistry, "defaultLanguage", "en");
+        emailTemplateRegistry.loadTemplates();
+    }
+
+    @Test
+    void renderCostPerEmail() {
+        Benchmark.Result formatted = Benchmark.measure("String.formatted text block", WARMUP, OPERATIONS, i ->
+                FORMATTED_LAYOUT.formatted("Email Verification", "user" + i, "We received a request to activate your account.",
+                        "http://localhost/email-verification?token=" + i, "Verify Email", "30 minutes"));
+
+        Benchmark.Result compiled = Benchmark.measure("EmailTemplateRegistry.render", WARMUP, OPERATIONS, i ->
+                emailTemplateRegistry.render(TokenTypeEnum.EMAIL_VERIFICATION, Locale.ENGLISH, Map.of(
+                        "username", "user" + i,
+                        "actionUrl", "http://localhost/email-verification?token=" + i,
+                        "expiredMinutes", "30"
+                )));
+
+        assertThat(formatted.operations()).isEqualTo(compiled.operations());
+    }
+}
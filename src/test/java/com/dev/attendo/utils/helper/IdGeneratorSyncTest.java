@@ -0,0 +1,71 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uses the payroll_run generator, which no other test draws ids from, and puts its row back afterwards
+// so the block Hibernate may already hold in memory stays consistent with the table.
+@IntegrationTest
+class IdGeneratorSyncTest {
+    private static final String SEGMENT = "payroll_run";
+
+    @Autowired
+    IdGeneratorSync idGeneratorSync;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.app.idAllocationSize}")
+    int allocationSize;
+
+    private long originalNextValue;
+
+    @BeforeEach
+    void rememberGenerator() {
+        originalNextValue = nextValue();
+    }
+
+    @AfterEach
+    void restoreGenerator() {
+        jdbcTemplate.update("DELETE FROM id_generator WHERE sequence_name = ?", SEGMENT);
+        jdbcTemplate.update("INSERT INTO id_generator (sequence_name, next_val) VALUES (?, ?)", SEGMENT, originalNextValue);
+    }
+
+    @Test
+    void missingGeneratorRowIsCreatedPastMaxId() {
+        jdbcTemplate.update("DELETE FROM id_generator WHERE sequence_name = ?", SEGMENT);
+
+        idGeneratorSync.afterSingletonsInstantiated();
+        idGeneratorSync.afterSingletonsInstantiated();
+
+        assertThat(nextValue()).isEqualTo(maxId() + allocationSize);
+    }
+
+    @Test
+    void generatorBehindMaxIdIsRaisedButNeverLowered() {
+        jdbcTemplate.update("UPDATE id_generator SET next_val = 0 WHERE sequence_name = ?", SEGMENT);
+
+        idGeneratorSync.afterSingletonsInstantiated();
+        assertThat(nextValue()).isEqualTo(maxId() + allocationSize);
+
+        long aheadValue = maxId() + 10L * allocationSize;
+        jdbcTemplate.update("UPDATE id_generator SET next_val = ? WHERE sequence_name = ?", aheadValue, SEGMENT);
+        idGeneratorSync.afterSingletonsInstantiated();
+        assertThat(nextValue()).isEqualTo(aheadValue);
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM id_generator WHERE sequence_name = ?", Long.class, SEGMENT);
+    }
+
+    private long maxId() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM payroll_run", Long.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.Store;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.support.Benchmark;
+import com.dev.attendo.support.ContendedStoreWriter;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Writers hammering one row: @RetryOnOptimisticLock (conflicts fail at commit and retry with backoff, some give up)
+// against SELECT ... FOR UPDATE (writers queue on the row lock). Prints throughput and how many writes were lost.
+@Tag("benchmark")
+@IntegrationTest
+class OptimisticLockContentionBenchmarkTest {
+    private static final int THREADS = 8;
+    private static final int WRITES_PER_THREAD = 50;
+
+    @Autowired
+    ContendedStoreWriter contendedStoreWriter;
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void optimisticRetryAgainstSelectForUpdate() throws Exception {
+        Store optimisticStore = fixtures.store();
+        Store lockedStore = fixtures.store();
+
+        int optimisticWrites = run("optimistic + retry", storeId -> contendedStoreWriter.incrementOptimistic(storeId), optimisticStore.getId());
+        int lockedWrites = run("select for update", storeId -> contendedStoreWriter.incrementLocked(storeId), lockedStore.getId());
+
+        System.out.println("[benchmark] optimistic writes given up: " + (THREADS * WRITES_PER_THREAD - optimisticWrites));
+        // Whatever succeeded was applied exactly once, neither mode loses an update
+        assertThat(radius(optimisticStore)).isEqualTo(optimisticStore.getRadius() + optimisticWrites);
+        assertThat(radius(lockedStore)).isEqualTo(lockedStore.getRadius() + lockedWrites);
+        assertThat(lockedWrites).isEqualTo(THREADS * WRITES_PER_THREAD);
+    }
+
+    private int run(String name, Consumer<Long> write, Long storeId) throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>(THREADS);
+        long startNanos;
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < WRITES_PER_THREAD; j++) {
+                        try {
+                            write.accept(storeId);
+                            succeeded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            // Gave up after optimisticLockMaxAttempts
+                        }
+                    }
+                    return null;
+                }));
+            }
+            startNanos = System.nanoTime();
+            start.countDown();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        Benchmark.throughput(name, succeeded.get(), elapsedNanos);
+        return succeeded.get();
+    }
+
+    private double radius(Store store) {
+        return storeRepository.findById(store.getId()).orElseThrow().getRadius();
+    }
+}
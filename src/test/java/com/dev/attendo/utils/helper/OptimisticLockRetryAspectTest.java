@@ -0,0 +1,65 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.exception.InternalServerErrorException;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.support.ContendedStoreWriter;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Conflicts are real: a second transaction commits a change to the row between the read and the write of an attempt.
+@IntegrationTest
+class OptimisticLockRetryAspectTest {
+
+    @Autowired
+    ContendedStoreWriter contendedStoreWriter;
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Value("${spring.app.optimisticLockMaxAttempts}")
+    int maxAttempts;
+
+    @AfterEach
+    void stopConflicts() {
+        contendedStoreWriter.forceConflicts(0);
+    }
+
+    @Test
+    void conflictIsRetriedUntilWriteSucceeds() {
+        Store store = fixtures.store();
+        contendedStoreWriter.forceConflicts(maxAttempts - 1);
+
+        contendedStoreWriter.incrementOptimistic(store.getId());
+
+        assertThat(contendedStoreWriter.attempts()).isEqualTo(maxAttempts);
+        assertThat(radius(store)).isEqualTo(store.getRadius() + 1);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        Store store = fixtures.store();
+        contendedStoreWriter.forceConflicts(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> contendedStoreWriter.incrementOptimistic(store.getId()))
+                .isInstanceOf(InternalServerErrorException.class)
+                .hasMessageContaining("Data sedang diubah oleh pengguna lain");
+
+        assertThat(contendedStoreWriter.attempts()).isEqualTo(maxAttempts);
+        assertThat(radius(store)).isEqualTo(store.getRadius());
+    }
+
+    private double radius(Store store) {
+        return storeRepository.findById(store.getId()).orElseThrow().getRadius();
+    }
+}
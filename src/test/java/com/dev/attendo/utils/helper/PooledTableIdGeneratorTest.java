@@ -0,0 +1,71 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.model.Store;
+import com.dev.attendo.repository.StoreRepository;
+import com.dev.attendo.support.IntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class PooledTableIdGeneratorTest {
+    private static final int STORES_PER_TRANSACTION = 20;
+
+    @Autowired
+    StoreRepository storeRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    // Every application connection is held by a transaction waiting for the generator, the block fetch must not need one
+    @Test
+    void blockFetchDoesNotWaitForApplicationConnections() throws Exception {
+        int transactionCount = ((HikariDataSource) dataSource).getMaximumPoolSize() * 3;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> transactions = new ArrayList<>(transactionCount);
+        try (ExecutorService pool = Executors.newFixedThreadPool(transactionCount)) {
+            for (int i = 0; i < transactionCount; i++) {
+                transactions.add(pool.submit(() -> {
+                    start.await();
+                    return transaction.execute(status -> {
+                        storeRepository.count();
+                        List<Long> ids = new ArrayList<>(STORES_PER_TRANSACTION);
+                        for (int j = 0; j < STORES_PER_TRANSACTION; j++) {
+                            Store store = new Store();
+                            store.setName("Toko Id " + j);
+                            store.setAddress("Jl. Pengujian");
+                            ids.add(storeRepository.save(store).getId());
+                        }
+                        return ids;
+                    });
+                }));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> result : transactions) {
+                ids.addAll(result.get(20, TimeUnit.SECONDS));
+            }
+            assertThat(ids).hasSize(transactionCount * STORES_PER_TRANSACTION);
+        }
+    }
+}
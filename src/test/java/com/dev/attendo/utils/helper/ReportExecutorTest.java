@@ -0,0 +1,122 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.exception.InternalServerErrorException;
+import com.dev.attendo.exception.ServiceUnavailableException;
+import com.dev.attendo.support.IntegrationTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class ReportExecutorTest {
+    // Counts far enough to run for minutes if nothing stops it
+    private static final String SLOW_QUERY = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a CROSS JOIN SYSTEM_RANGE(1, 100000) b WHERE RAND() < 0.5";
+
+    @Autowired
+    ReportExecutor reportExecutor;
+
+    @Autowired
+    @Qualifier("reportQueryExecutor")
+    ThreadPoolTaskExecutor reportQueryExecutor;
+
+    @Autowired
+    EntityManager entityManager;
+
+    private Object originalTimeoutMs;
+
+    @BeforeEach
+    void shortenTimeout() {
+        originalTimeoutMs = ReflectionTestUtils.getField(reportExecutor, "reportTimeoutMs");
+        ReflectionTestUtils.setField(reportExecutor, "reportTimeoutMs", 1000L);
+    }
+
+    @AfterEach
+    void restoreTimeout() {
+        ReflectionTestUtils.setField(reportExecutor, "reportTimeoutMs", originalTimeoutMs);
+    }
+
+    @Test
+    void timedOutQueryIsAbortedAndFreesItsWorker() throws InterruptedException {
+        long startNanos = System.nanoTime();
+
+        assertThatThrownBy(() -> reportExecutor.execute(() -> entityManager.createNativeQuery(SLOW_QUERY).getSingleResult()))
+                .isInstanceOf(InternalServerErrorException.class)
+                .hasMessageContaining("Waktu pembuatan laporan habis");
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(5000);
+        // The statement timeout stops the query in the database, so the worker does not keep running it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (reportQueryExecutor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(reportQueryExecutor.getActiveCount()).isZero();
+    }
+
+    @Test
+    void saturatedPoolRejectsReportWithoutRunningItOnTheRequestThread() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupy(reportQueryExecutor.getMaxPoolSize() + reportQueryExecutor.getQueueCapacity(), release);
+            AtomicBoolean queryRan = new AtomicBoolean();
+
+            assertThatThrownBy(() -> reportExecutor.execute(() -> queryRan.getAndSet(true)))
+                    .isInstanceOf(ServiceUnavailableException.class);
+
+            assertThat(queryRan).isFalse();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void rejectedQueryCancelsTheOtherQueriesOfItsReport() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupy(reportQueryExecutor.getMaxPoolSize() + reportQueryExecutor.getQueueCapacity() - 1, release);
+            Future<Object> queuedQuery = reportExecutor.submit(() -> entityManager.createNativeQuery("SELECT 1").getSingleResult());
+            Future<Object> rejectedQuery = reportExecutor.submit(() -> entityManager.createNativeQuery("SELECT 2").getSingleResult());
+
+            assertThatThrownBy(() -> reportExecutor.awaitAll(queuedQuery, rejectedQuery))
+                    .isInstanceOf(ServiceUnavailableException.class);
+
+            assertThat(queuedQuery.isCancelled()).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void queryFinishingInTimeReturnsItsResult() {
+        Future<Object> query = reportExecutor.submit(() -> entityManager.createNativeQuery("SELECT 1").getSingleResult());
+
+        reportExecutor.awaitAll(query);
+
+        assertThat(((Number) query.resultNow()).intValue()).isEqualTo(1);
+    }
+
+    // Blocks every worker and queue slot taken by these tasks until release is counted down
+    private void occupy(int taskCount, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(reportQueryExecutor.getMaxPoolSize());
+        for (int i = 0; i < taskCount; i++) {
+            reportQueryExecutor.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,84 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.dtos.report.FrequentlyLateReportDTO;
+import com.dev.attendo.model.Attendance;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.AttendanceRepository;
+import com.dev.attendo.service.ReportService;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.SqlCapture;
+import com.dev.attendo.support.TestFixtures;
+import com.dev.attendo.utils.enums.AttendanceStatusEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class ReportSliceCacheTest {
+
+    @Autowired
+    ReportService reportService;
+
+    @Autowired
+    AttendanceSummaryUpdater attendanceSummaryUpdater;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void coldReportLoadsAllMonthsInOneQuery() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        lateAttendance(employee, store, YearMonth.now().minusMonths(4));
+        lateAttendance(employee, store, YearMonth.now().minusMonths(1));
+
+        SqlCapture.clear();
+        FrequentlyLateReportDTO coldReport = reportService.getFrequentlyLateReport(store.getId(), 6);
+        long coldQueries = summaryQueryCount();
+
+        SqlCapture.clear();
+        FrequentlyLateReportDTO warmReport = reportService.getFrequentlyLateReport(store.getId(), 6);
+        long warmQueries = summaryQueryCount();
+
+        assertThat(coldReport.totalLateCount()).isEqualTo(2L);
+        assertThat(warmReport).isEqualTo(coldReport);
+        assertThat(coldQueries).isEqualTo(1);
+        // Only the current month is read again
+        assertThat(warmQueries).isEqualTo(1);
+    }
+
+    @Test
+    void writeEvictsCachedSlices() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        lateAttendance(employee, store, lastMonth);
+        assertThat(reportService.getFrequentlyLateReport(store.getId(), 3).totalLateCount()).isEqualTo(1L);
+
+        lateAttendance(employee, store, lastMonth);
+
+        assertThat(reportService.getFrequentlyLateReport(store.getId(), 3).totalLateCount()).isEqualTo(2L);
+    }
+
+    private void lateAttendance(User employee, Store store, YearMonth month) {
+        Attendance attendance = fixtures.attendance(employee, store, LocalDateTime.now().with(month.atDay(1)).withHour(8));
+        attendance.setStatus(AttendanceStatusEnum.LATE);
+        attendance.setLateInMinutes(10);
+        attendanceRepository.save(attendance);
+        attendanceSummaryUpdater.refresh(attendance);
+    }
+
+    private long summaryQueryCount() {
+        return SqlCapture.statements().stream()
+                .filter(sql -> sql.contains("from monthly_attendance_summary"))
+                .count();
+    }
+}
@@ -0,0 +1,77 @@
+package com.dev.attendo.utils.helper;
+
+import com.dev.attendo.dtos.report.ExpenseSummaryRow;
+import com.dev.attendo.model.Salary;
+import com.dev.attendo.model.Store;
+import com.dev.attendo.model.User;
+import com.dev.attendo.repository.MonthlyAttendanceSummaryRepository;
+import com.dev.attendo.repository.SalaryRepository;
+import com.dev.attendo.support.IntegrationTest;
+import com.dev.attendo.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Salaries saved straight through the repository keep validTo null, like rows created before the column existed.
+@IntegrationTest
+class SalaryValidityBackfillTest {
+
+    @Autowired
+    SalaryValidityBackfill salaryValidityBackfill;
+
+    @Autowired
+    AttendanceSummaryUpdater attendanceSummaryUpdater;
+
+    @Autowired
+    SalaryRepository salaryRepository;
+
+    @Autowired
+    MonthlyAttendanceSummaryRepository monthlyAttendanceSummaryRepository;
+
+    @Autowired
+    TestFixtures fixtures;
+
+    @Test
+    void expensesPickOneSalaryPerMonthBeforeBackfill() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        fixtures.salary(employee, store, 100_000, LocalDate.of(2024, 1, 1));
+        fixtures.salary(employee, store, 120_000, LocalDate.of(2024, 3, 1));
+        fixtures.salary(employee, store, 150_000, LocalDate.of(2024, 3, 1));
+        fixtures.attendance(employee, store, LocalDateTime.of(2024, 2, 5, 8, 0));
+        fixtures.attendance(employee, store, LocalDateTime.of(2024, 4, 5, 8, 0));
+        attendanceSummaryUpdater.refresh(employee.getId(), store.getId(), YearMonth.of(2024, 2));
+        attendanceSummaryUpdater.refresh(employee.getId(), store.getId(), YearMonth.of(2024, 4));
+
+        List<ExpenseSummaryRow> rows = monthlyAttendanceSummaryRepository.getMonthlyAttendanceCountSummary(store.getId(),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1));
+
+        assertThat(rows).extracting(ExpenseSummaryRow::periodStart, ExpenseSummaryRow::salaryAmount)
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2024, 2, 1), 100_000),
+                        tuple(LocalDate.of(2024, 4, 1), 150_000));
+    }
+
+    @Test
+    void backfillChainsOnlyUnchainedHistories() {
+        Store store = fixtures.store();
+        User employee = fixtures.employee(store);
+        Salary first = fixtures.salary(employee, store, 100_000, LocalDate.of(2024, 1, 1));
+        Salary second = fixtures.salary(employee, store, 120_000, LocalDate.of(2024, 6, 1));
+
+        salaryValidityBackfill.run();
+
+        assertThat(salaryRepository.findById(first.getId())).get().extracting(Salary::getValidTo).isEqualTo(LocalDate.of(2024, 6, 1));
+        assertThat(salaryRepository.findById(second.getId())).get().extracting(Salary::getValidTo).isNull();
+        assertThat(salaryRepository.findUserIdsWithUnchainedSalary(0L, PageRequest.of(0, 10)))
+                .doesNotContain(employee.getId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.dev.attendo.utils.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoResponseUtilsTest {
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0};
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutReadingThePhoto() {
+        AtomicInteger reads = new AtomicInteger();
+        ServletWebRequest webRequest = request("\"photo-key\"");
+
+        ResponseEntity<Resource> response = PhotoResponseUtils.toResponse(new StoredPhoto("photo-key", countingResource(reads)), webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"photo-key\"");
+        assertThat(reads).hasValue(0);
+    }
+
+    @Test
+    void staleIfNoneMatchIsServedWithTheSniffedMediaType() {
+        AtomicInteger reads = new AtomicInteger();
+        ServletWebRequest webRequest = request("\"other-key\"");
+
+        ResponseEntity<Resource> response = PhotoResponseUtils.toResponse(new StoredPhoto("photo-key", countingResource(reads)), webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(reads).hasValue(1);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/attendance/photo/1");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private static Resource countingResource(AtomicInteger reads) {
+        return new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return "photo";
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                reads.incrementAndGet();
+                return new ByteArrayInputStream(PNG_HEADER);
+            }
+        };
+    }
+}